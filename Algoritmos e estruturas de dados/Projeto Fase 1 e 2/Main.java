@@ -1,5 +1,7 @@
 import java.io.*;
-import java.util.Scanner;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import dataStructures.*;
 import Exceptions.*;
 import TrainStation.*;
@@ -23,15 +25,19 @@ public class Main {
     private static final String HORARIO_INEXISTENTE = "Horário inexistente.";
     private static final String ESTAÇAO_INEXISTENTE = "Estação inexistente.";
     private static final String REMOÇAO_HORARIO_SUCESSO = "Remoção de horário com sucesso.";
+    private static final String CONSULTA_INVALIDA = "Consulta inválida.";
     private static final String SPLIT = " ";
     private static final String EMPTY = "";
     private static final String COLON = ":";
     private static final String ZERO = "0";
     private static final String COMBOIO = "Comboio ";
+    private static final String PARTIDA = "P";
+    private static final String CHEGADA = "C";
+    private static final int INPUT_LINES = 1024;
 
 
      private enum Commands {
-        IL, RL, CL, IH, RH, CH, MH, TA, INVALID, CE, LC
+        IL, RL, CL, IH, RH, CH, MH, TA, INVALID, CE, LC, PV
     }
 
 
@@ -74,7 +80,7 @@ public class Main {
     }
 
     private static void executeCmd(RailNetwork network) {
-        Scanner in = new Scanner(System.in);
+        CommandInput in = new CommandInput(System.in);
         Commands option;
         do{
             option = getCommand(in);
@@ -83,7 +89,7 @@ public class Main {
         in.close();
     }
 
-    private static void selectCmd(Scanner in, RailNetwork network, Commands option) {
+    private static void selectCmd(CommandInput in, RailNetwork network, Commands option) {
         switch (option) {
             case TA -> System.out.println("Aplicação terminada.");
             case IL -> insertLine(in, network);
@@ -95,6 +101,7 @@ public class Main {
             case CH -> consultTimeOfLine(in, network);
             case MH -> bestTime(in, network);
             case LC -> consultSchedulesByStation(in, network);
+            case PV -> planJourney(in, network);
             default -> {
             }
         }
@@ -103,7 +110,7 @@ public class Main {
 
 
 
-    private static Commands getCommand(Scanner in) {
+    private static Commands getCommand(CommandInput in) {
         try {
             String comm = in.next().toUpperCase();
             return Commands.valueOf(comm);
@@ -111,9 +118,9 @@ public class Main {
             return Commands.INVALID;
         }
     }
-    private static void insertLine(Scanner in, RailNetwork network) {
+    private static void insertLine(CommandInput in, RailNetwork network) {
         String nameLine = in.nextLine().trim();
-        Queue<String> queue = new QueueInList<>();
+        Queue<String> queue = new QueueInArray<>();
         String nameStation = in.nextLine().trim();
         try {
             while (!nameStation.isEmpty()) {
@@ -127,7 +134,7 @@ public class Main {
         }
     }
 
-    private static void removeLine(Scanner in, RailNetwork network) {
+    private static void removeLine(CommandInput in, RailNetwork network) {
         String nameLine = in.nextLine().trim();
         try {
             network.removeLine(nameLine);
@@ -137,7 +144,7 @@ public class Main {
         }
     }
 
-    private static void consultStations(Scanner in, RailNetwork network) {
+    private static void consultStations(CommandInput in, RailNetwork network) {
         String nameLine = in.nextLine().trim();
         try {
             Iterator<Station> itStations = network.getStationsIterator(nameLine);
@@ -151,7 +158,7 @@ public class Main {
         }
     }
 
-    private static void consultLine(Scanner in, RailNetwork network) {
+    private static void consultLine(CommandInput in, RailNetwork network) {
         String stationName = in.nextLine().trim();
         try {
             Iterator<Entry<Line,Line>> itLines = network.getLinesIterator(stationName);
@@ -164,11 +171,11 @@ public class Main {
         }
      }
 
-     private static void insertTime(Scanner in, RailNetwork network) {
+     private static void insertTime(CommandInput in, RailNetwork network) {
         String nameLine = in.nextLine().trim();
         int trainId = in.nextInt();
         in.nextLine();
-        Queue<Entry<String,String>> schedule = new QueueInList<>();
+        Queue<Entry<String,String>> schedule = new QueueInArray<>();
         try{
             String stringInput;
             do{
@@ -196,7 +203,7 @@ public class Main {
         }
     }
     
-    private static void removeTime(Scanner in, RailNetwork network) {
+    private static void removeTime(CommandInput in, RailNetwork network) {
         String nameLine = in.nextLine().trim();
         try {
             String stringInput = in.nextLine();
@@ -215,7 +222,7 @@ public class Main {
             System.out.println(HORARIO_INEXISTENTE);
         }
     }
-    private static void consultTimeOfLine(Scanner in, RailNetwork network) {
+    private static void consultTimeOfLine(CommandInput in, RailNetwork network) {
         String lineName = in.nextLine().trim();
         String startStation = in.nextLine().trim();
         try {
@@ -237,7 +244,7 @@ public class Main {
         }
     }
     
-    private static void consultSchedulesByStation(Scanner in, RailNetwork network) {
+    private static void consultSchedulesByStation(CommandInput in, RailNetwork network) {
         String stationName = in.nextLine().trim();
         try {
             Iterator<Entry<Integer, Time>> it = network.getSchedulesByStation(stationName);
@@ -251,7 +258,7 @@ public class Main {
         }
     }
 
-    private static void bestTime(Scanner in, RailNetwork network) {
+    private static void bestTime(CommandInput in, RailNetwork network) {
         String lineName = in.nextLine().trim();
         String startStation = in.nextLine().trim();
         String endStation = in.nextLine().trim();
@@ -274,6 +281,184 @@ public class Main {
         }
     }
 
+    /**
+     * Plans a journey that may change lines. After the stations comes the
+     * kind of query and the time: "P HH:MM" to leave at or after that time
+     * and arrive as early as possible, "C HH:MM" to arrive by that time and
+     * leave as late as possible; then the minutes needed to change trains.
+     */
+    private static void planJourney(CommandInput in, RailNetwork network) {
+        String startStation = in.nextLine().trim();
+        String endStation = in.nextLine().trim();
+        String[] tokens = in.nextLine().trim().split(SPLIT);
+        String time = tokens[tokens.length - 1];
+        int transferTime = in.nextInt();
+        in.nextLine();
+        boolean latest = tokens[0].equalsIgnoreCase(CHEGADA);
+        if (tokens.length < 2 || !latest && !tokens[0].equalsIgnoreCase(PARTIDA)) {
+            System.out.println(CONSULTA_INVALIDA);
+            return;
+        }
+        try {
+            Iterator<Leg> legs = latest
+                    ? network.getLatestJourney(startStation, endStation, time, transferTime)
+                    : network.getEarliestJourney(startStation, endStation, time, transferTime);
+            while (legs.hasNext()) {
+                Leg leg = legs.next();
+                System.out.println(COMBOIO + leg.getSchedule().getTrainId());
+                System.out.print(leg.getDepartureStation().getName() + SPLIT);
+                printTime(leg.getDepartureTime());
+                System.out.print(leg.getArrivalStation().getName() + SPLIT);
+                printTime(leg.getArrivalTime());
+            }
+        } catch (StationDoesNotExistException e) {
+            System.out.println(ESTAÇAO_INEXISTENTE);
+        } catch (ImpossibleRouteException e) {
+            System.out.println(PERCURSO_IMPOSSIVEL);
+        }
+    }
+
+    /**
+     * Input of the commands, read by a thread of its own: the lines are handed
+     * over through a single-producer single-consumer queue, so reading the input
+     * and executing the commands go on in parallel. A thread that finds the
+     * queue empty (or full) for long parks until the other one wakes it.
+     * Tokens and lines are taken as with a Scanner.
+     */
+    private static class CommandInput {
+
+        /**
+         * Line that marks the end of the input.
+         */
+        private static final String END = new String();
+
+        /**
+         * Attempts spent spinning and yielding before a thread parks.
+         */
+        private static final int SPINS = 100;
+
+        private final SPSCQueueInArray<String> lines = new SPSCQueueInArray<>(INPUT_LINES);
+
+        /**
+         * Line being read (null if its end was consumed).
+         */
+        private String line;
+
+        private int position;
+
+        private boolean ended;
+
+        /**
+         * Threads parked waiting for a line, and for room in the queue (null if none).
+         */
+        private final AtomicReference<Thread> consumer = new AtomicReference<>(),
+                producer = new AtomicReference<>();
+
+        CommandInput(InputStream input) {
+            Thread reader = new Thread(() -> read(input), "input");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        private void read(InputStream input) {
+            try {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(input));
+                String next;
+                while ((next = reader.readLine()) != null)
+                    put(next);
+            } catch (IOException e) {
+                // Um erro de leitura termina a entrada, como o fim do ficheiro.
+            } finally {
+                put(END);
+            }
+        }
+
+        private void put(String next) {
+            for (int attempt = 0; !lines.offer(next); attempt++)
+                backOff(attempt, producer);
+            producer.set(null);
+            wake(consumer);
+        }
+
+        private String take() {
+            if (ended)
+                throw new NoSuchElementException();
+            String next;
+            for (int attempt = 0; (next = lines.poll()) == null; attempt++)
+                backOff(attempt, consumer);
+            consumer.set(null);
+            wake(producer);
+            if (next == END) {
+                ended = true;
+                throw new NoSuchElementException();
+            }
+            return next;
+        }
+
+        /**
+         * Waits for the other thread: spins for a while, then gives up the
+         * processor, then registers the current thread as waiting and, from
+         * the next attempt on, parks until the other thread wakes it.
+         * The queue is checked once more between registering and parking,
+         * so a wake up is never lost.
+         */
+        private void backOff(int attempt, AtomicReference<Thread> waiting) {
+            if (attempt < 10)
+                Thread.onSpinWait();
+            else if (attempt < SPINS)
+                Thread.yield();
+            else if (attempt == SPINS)
+                waiting.set(Thread.currentThread());
+            else
+                LockSupport.park(this);
+        }
+
+        /**
+         * Unparks the thread registered as waiting, if any.
+         */
+        private static void wake(AtomicReference<Thread> waiting) {
+            // A barreira impede que a leitura passe à frente da escrita na fila.
+            VarHandle.fullFence();
+            Thread thread = waiting.get();
+            if (thread != null)
+                LockSupport.unpark(thread);
+        }
+
+        String next() {
+            while (true) {
+                if (line == null) {
+                    line = take();
+                    position = 0;
+                }
+                while (position < line.length() && Character.isWhitespace(line.charAt(position)))
+                    position++;
+                if (position < line.length())
+                    break;
+                line = null;
+            }
+            int start = position;
+            while (position < line.length() && !Character.isWhitespace(line.charAt(position)))
+                position++;
+            return line.substring(start, position);
+        }
+
+        int nextInt() {
+            return Integer.parseInt(next());
+        }
+
+        String nextLine() {
+            if (line == null)
+                return take();
+            String rest = line.substring(position);
+            line = null;
+            return rest;
+        }
+
+        void close() {
+            line = null;
+        }
+    }
+
     private static void printTime(Time time){
          if(time.getHours() < 10 && time.getMinutes() < 10){
              System.out.println(ZERO + time.getHours() + COLON + ZERO + time.getMinutes());
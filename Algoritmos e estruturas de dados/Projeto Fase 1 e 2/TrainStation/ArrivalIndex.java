@@ -0,0 +1,128 @@
+package TrainStation;
+import dataStructures.*;
+
+/**
+ * Index of the stops of the trains of one direction of a line.
+ * For each station it keeps the arrivals of the trains sorted by time, each
+ * tagged with the departure time of its train, which is the key of the train
+ * in the schedules of that direction, and the departure times of the trains
+ * that stop there. The latest train from one station to another that arrives
+ * by a given time is found by seeking the last arrival up to that time and
+ * walking back only past the trains that do not stop at the departure station.
+ * @author Leandro Rodrigues 68211 lms.rodrigues@campus.fct.unl.pt
+ * @author Rodrigo Sinde 68614 r.sinde@campus.fct.unl.pt
+ */
+class ArrivalIndex {
+
+    /**
+     * Schedules of the direction, by departure time.
+     */
+    private final OrderedDictionary<Time, Schedule> schedules;
+
+    /**
+     * Arrivals at each station, packed with the departure time of the train.
+     */
+    private final Dictionary<Station, LongAVLSet> arrivals;
+
+    /**
+     * Departure times of the trains that stop at each station.
+     */
+    private final Dictionary<Station, LongAVLSet> trains;
+
+    /**
+     * Builds the index of the given schedules.
+     * @param schedules the schedules of one direction of a line, by departure time
+     */
+    ArrivalIndex(OrderedDictionary<Time, Schedule> schedules) {
+        this.schedules = schedules;
+        this.arrivals = new CompactHashTable<>();
+        this.trains = new CompactHashTable<>();
+        Iterator<Entry<Time, Schedule>> it = schedules.iterator();
+        while (it.hasNext()) {
+            Entry<Time, Schedule> entry = it.next();
+            add(entry.getValue(), entry.getKey());
+        }
+    }
+
+    /**
+     * Adds the stops of a schedule to the index.
+     * @param schedule the schedule
+     * @param departureTime its departure time
+     */
+    void add(Schedule schedule, Time departureTime) {
+        int departure = departureTime.getMinuteOfDay();
+        Iterator<Entry<Station, Time>> it = schedule.getEntries();
+        while (it.hasNext()) {
+            Entry<Station, Time> stop = it.next();
+            arrivals.computeIfAbsent(stop.getKey(), station -> new LongAVLSet())
+                    .insert(pack(stop.getValue().getMinuteOfDay(), departure));
+            trains.computeIfAbsent(stop.getKey(), station -> new LongAVLSet()).insert(departure);
+        }
+    }
+
+    /**
+     * Removes the stops of a schedule from the index.
+     * @param schedule the schedule
+     * @param departureTime its departure time
+     */
+    void remove(Schedule schedule, Time departureTime) {
+        int departure = departureTime.getMinuteOfDay();
+        Iterator<Entry<Station, Time>> it = schedule.getEntries();
+        while (it.hasNext()) {
+            Entry<Station, Time> stop = it.next();
+            LongAVLSet stationArrivals = arrivals.find(stop.getKey());
+            if (stationArrivals != null) {
+                stationArrivals.remove(pack(stop.getValue().getMinuteOfDay(), departure));
+                if (stationArrivals.isEmpty())
+                    arrivals.remove(stop.getKey());
+            }
+            LongAVLSet stationTrains = trains.find(stop.getKey());
+            if (stationTrains != null) {
+                stationTrains.remove(departure);
+                if (stationTrains.isEmpty())
+                    trains.remove(stop.getKey());
+            }
+        }
+    }
+
+    /**
+     * Returns the schedule that arrives at a station the latest, but no later
+     * than the given time, coming from another station. Among trains that
+     * arrive at the same time, the one that departs first is returned.
+     * @param departureStation the station the train comes from
+     * @param arrivalStation the station the train arrives at
+     * @param time the latest arrival time
+     * @param ordered true if every train of the direction that stops at both
+     *                stations stops at departureStation first
+     * @return the schedule, or null if there is none
+     */
+    Schedule latest(Station departureStation, Station arrivalStation, Time time, boolean ordered) {
+        LongAVLSet stationArrivals = arrivals.find(arrivalStation);
+        LongAVLSet departureTrains = trains.find(departureStation);
+        if (stationArrivals == null || departureTrains == null)
+            return null;
+        long arrival = stationArrivals.floor(pack(time.getMinuteOfDay(), 0));
+        while (arrival != Long.MIN_VALUE) {
+            int departure = departureOf(arrival);
+            if (departureTrains.contains(departure)) {
+                Schedule schedule = schedules.find(TimeClass.of(departure));
+                // Com estações repetidas, a chegada tem de ser a que o horário usa.
+                if (ordered || schedule.getTimeToStation(departureStation, arrivalStation, time)
+                        == time.getMinuteOfDay() - (int) (arrival >>> 32))
+                    return schedule;
+            }
+            arrival = stationArrivals.floor(arrival - 1);
+        }
+        return null;
+    }
+
+    // Os bits baixos guardam o complemento da partida, para que a ordem
+    // decrescente percorra cada hora de chegada da partida mais cedo para a mais tarde.
+    private static long pack(int arrival, int departure) {
+        return (long) arrival << 32 | (0xFFFFFFFFL - departure);
+    }
+
+    private static int departureOf(long arrival) {
+        return (int) (0xFFFFFFFFL - (arrival & 0xFFFFFFFFL));
+    }
+}
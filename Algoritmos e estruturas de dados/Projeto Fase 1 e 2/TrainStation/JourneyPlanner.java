@@ -0,0 +1,287 @@
+package TrainStation;
+import dataStructures.*;
+
+import java.util.Arrays;
+
+/**
+ * Journeys across the lines of the network, found with the Connection Scan
+ * algorithm. Each pair of consecutive stops of a schedule is a connection;
+ * the connections of all the schedules are kept in parallel arrays, sorted by
+ * departure time, together with their order by arrival time. The earliest
+ * arrival is found with one scan forward from the first connection that
+ * departs at the given time, the latest departure with one scan backward from
+ * the last connection that arrives by the given time. Staying in a train
+ * takes no time; changing trains at a station takes the given transfer time.
+ * The planner is a picture of the schedules when it is built.
+ * @author Leandro Rodrigues 68211 lms.rodrigues@campus.fct.unl.pt
+ * @author Rodrigo Sinde 68614 r.sinde@campus.fct.unl.pt
+ */
+class JourneyPlanner {
+
+    private static final int NONE = -1;
+
+    /**
+     * Number of each station that has a stop.
+     */
+    private final Dictionary<Station, Integer> stationNumbers;
+
+    private Station[] stations;
+
+    /**
+     * Schedule of each train.
+     */
+    private Schedule[] trains;
+
+    /**
+     * Connections, by departure time: stations and times of departure and
+     * arrival, and number of the train.
+     */
+    private int[] from, to, departure, arrival, train;
+
+    /**
+     * Positions of the connections, by arrival time.
+     */
+    private int[] byArrival;
+
+    private int size;
+
+    /**
+     * Builds the connections of the schedules of the given lines.
+     * @param lines the lines of the network
+     */
+    JourneyPlanner(Iterator<Entry<String, Line>> lines) {
+        stationNumbers = new CompactHashTable<>();
+        stations = new Station[16];
+        trains = new Schedule[16];
+        from = new int[64];
+        to = new int[64];
+        departure = new int[64];
+        arrival = new int[64];
+        train = new int[64];
+        int trainCount = 0;
+        while (lines.hasNext()) {
+            Line line = lines.next().getValue();
+            for (int direction = 0; direction < 2; direction++) {
+                Iterator<Entry<Time, Schedule>> schedules = line.getSchedulesIterator(direction == 0);
+                while (schedules.hasNext()) {
+                    Schedule schedule = schedules.next().getValue();
+                    if (trainCount == trains.length)
+                        trains = Arrays.copyOf(trains, 2 * trainCount);
+                    trains[trainCount] = schedule;
+                    addConnections(schedule, trainCount++);
+                }
+            }
+        }
+        sort();
+    }
+
+    /**
+     * Returns the journey that reaches a station the earliest, leaving
+     * another station at or after the given time.
+     * @param source the departure station
+     * @param target the arrival station
+     * @param time the earliest departure time
+     * @param transferTime minutes needed to change trains
+     * @return the legs of the journey, or null if there is none
+     */
+    List<Leg> earliestArrival(Station source, Station target, Time time, int transferTime) {
+        Integer s = stationNumbers.find(source), t = stationNumbers.find(target);
+        if (s == null || t == null || s.equals(t))
+            return null;
+        int[] ready = new int[stationNumbers.size()];
+        int[] reachedBy = new int[ready.length];
+        int[] boarded = new int[trains.length];
+        Arrays.fill(ready, Integer.MAX_VALUE);
+        Arrays.fill(reachedBy, NONE);
+        Arrays.fill(boarded, NONE);
+        ready[s] = time.getMinuteOfDay();
+        int best = Integer.MAX_VALUE;
+        // Uma ligação que parte depois da melhor chegada já não a melhora.
+        for (int c = firstDepartingAt(ready[s]); c < size && departure[c] < best; c++) {
+            if (boarded[train[c]] == NONE) {
+                if (ready[from[c]] > departure[c])
+                    continue;
+                boarded[train[c]] = c;
+            }
+            int station = to[c];
+            if (station == t) {
+                if (arrival[c] < best) {
+                    best = arrival[c];
+                    reachedBy[t] = c;
+                }
+            } else if (arrival[c] + transferTime < ready[station]) {
+                ready[station] = arrival[c] + transferTime;
+                reachedBy[station] = c;
+            }
+        }
+        if (reachedBy[t] == NONE)
+            return null;
+        List<Leg> legs = new DoubleList<>();
+        for (int station = t; station != s; ) {
+            int last = reachedBy[station], first = boarded[train[last]];
+            legs.addFirst(leg(first, last));
+            station = from[first];
+        }
+        return legs;
+    }
+
+    /**
+     * Returns the journey that leaves a station the latest, reaching
+     * another station by the given time.
+     * @param source the departure station
+     * @param target the arrival station
+     * @param time the latest arrival time
+     * @param transferTime minutes needed to change trains
+     * @return the legs of the journey, or null if there is none
+     */
+    List<Leg> latestDeparture(Station source, Station target, Time time, int transferTime) {
+        Integer s = stationNumbers.find(source), t = stationNumbers.find(target);
+        if (s == null || t == null || s.equals(t))
+            return null;
+        int[] deadline = new int[stationNumbers.size()];
+        int[] leftBy = new int[deadline.length];
+        int[] alighted = new int[trains.length];
+        Arrays.fill(deadline, Integer.MIN_VALUE);
+        Arrays.fill(leftBy, NONE);
+        Arrays.fill(alighted, NONE);
+        deadline[t] = time.getMinuteOfDay();
+        int best = Integer.MIN_VALUE;
+        // Uma ligação que chega antes da melhor partida já não a melhora.
+        for (int i = lastArrivingBy(deadline[t]); i >= 0 && arrival[byArrival[i]] > best; i--) {
+            int c = byArrival[i];
+            if (alighted[train[c]] == NONE) {
+                if (arrival[c] > deadline[to[c]])
+                    continue;
+                alighted[train[c]] = c;
+            }
+            int station = from[c];
+            if (station == s) {
+                if (departure[c] > best) {
+                    best = departure[c];
+                    leftBy[s] = c;
+                }
+            } else if (station != t && departure[c] - transferTime > deadline[station]) {
+                deadline[station] = departure[c] - transferTime;
+                leftBy[station] = c;
+            }
+        }
+        if (leftBy[s] == NONE)
+            return null;
+        List<Leg> legs = new DoubleList<>();
+        for (int station = s; station != t; ) {
+            int first = leftBy[station], last = alighted[train[first]];
+            legs.addLast(leg(first, last));
+            station = to[last];
+        }
+        return legs;
+    }
+
+    /**
+     * Adds a connection for each pair of consecutive stops of a schedule.
+     */
+    private void addConnections(Schedule schedule, int number) {
+        Iterator<Entry<Station, Time>> stops = schedule.getEntries();
+        Entry<Station, Time> previous = stops.next();
+        while (stops.hasNext()) {
+            Entry<Station, Time> stop = stops.next();
+            if (size == from.length)
+                grow();
+            from[size] = numberOf(previous.getKey());
+            to[size] = numberOf(stop.getKey());
+            departure[size] = previous.getValue().getMinuteOfDay();
+            arrival[size] = stop.getValue().getMinuteOfDay();
+            train[size++] = number;
+            previous = stop;
+        }
+    }
+
+    private int numberOf(Station station) {
+        Integer number = stationNumbers.find(station);
+        if (number == null) {
+            number = stationNumbers.size();
+            stationNumbers.insert(station, number);
+            if (number == stations.length)
+                stations = Arrays.copyOf(stations, 2 * number);
+            stations[number] = station;
+        }
+        return number;
+    }
+
+    private void grow() {
+        from = Arrays.copyOf(from, 2 * size);
+        to = Arrays.copyOf(to, 2 * size);
+        departure = Arrays.copyOf(departure, 2 * size);
+        arrival = Arrays.copyOf(arrival, 2 * size);
+        train = Arrays.copyOf(train, 2 * size);
+    }
+
+    /**
+     * Sorts the connections by departure time, and finds their order by
+     * arrival time. Each connection is sorted as a long, with the time in
+     * the high bits and its position in the low bits; the connections of a
+     * train keep their order, since its times always increase.
+     */
+    private void sort() {
+        long[] order = new long[size];
+        for (int c = 0; c < size; c++)
+            order[c] = (long) departure[c] << 32 | c;
+        Arrays.sort(order);
+        int[] sortedFrom = new int[size], sortedTo = new int[size], sortedDeparture = new int[size],
+                sortedArrival = new int[size], sortedTrain = new int[size];
+        for (int i = 0; i < size; i++) {
+            int c = (int) order[i];
+            sortedFrom[i] = from[c];
+            sortedTo[i] = to[c];
+            sortedDeparture[i] = departure[c];
+            sortedArrival[i] = arrival[c];
+            sortedTrain[i] = train[c];
+        }
+        from = sortedFrom;
+        to = sortedTo;
+        departure = sortedDeparture;
+        arrival = sortedArrival;
+        train = sortedTrain;
+        for (int c = 0; c < size; c++)
+            order[c] = (long) arrival[c] << 32 | c;
+        Arrays.sort(order);
+        byArrival = new int[size];
+        for (int i = 0; i < size; i++)
+            byArrival[i] = (int) order[i];
+    }
+
+    /**
+     * Returns the position of the first connection that departs at or after the given minute.
+     */
+    private int firstDepartingAt(int minute) {
+        int low = 0, high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (departure[middle] < minute)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Returns the position, in arrival order, of the last connection that
+     * arrives at or before the given minute (-1 if there is none).
+     */
+    private int lastArrivingBy(int minute) {
+        int low = 0, high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (arrival[byArrival[middle]] <= minute)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low - 1;
+    }
+
+    private Leg leg(int first, int last) {
+        return new LegClass(trains[train[first]], stations[from[first]], TimeClass.of(departure[first]),
+                stations[to[last]], TimeClass.of(arrival[last]));
+    }
+}
@@ -0,0 +1,39 @@
+package TrainStation;
+
+/**
+ * Part of a journey made on a single train.
+ * @author Leandro Rodrigues 68211 lms.rodrigues@campus.fct.unl.pt
+ * @author Rodrigo Sinde 68614 r.sinde@campus.fct.unl.pt
+ */
+public interface Leg {
+
+    /**
+     * Gets the schedule of the train
+     * @return schedule
+     */
+    Schedule getSchedule();
+
+    /**
+     * Gets the station where the train is boarded
+     * @return station
+     */
+    Station getDepartureStation();
+
+    /**
+     * Gets the time at which the train leaves the departure station
+     * @return time
+     */
+    Time getDepartureTime();
+
+    /**
+     * Gets the station where the train is left
+     * @return station
+     */
+    Station getArrivalStation();
+
+    /**
+     * Gets the time at which the train reaches the arrival station
+     * @return time
+     */
+    Time getArrivalTime();
+}
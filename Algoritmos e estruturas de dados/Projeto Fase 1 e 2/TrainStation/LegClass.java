@@ -0,0 +1,56 @@
+package TrainStation;
+
+/**
+ * @author Leandro Rodrigues 68211 lms.rodrigues@campus.fct.unl.pt
+ * @author Rodrigo Sinde 68614 r.sinde@campus.fct.unl.pt
+ */
+public class LegClass implements Leg {
+
+    private final Schedule schedule;
+
+    private final Station departureStation;
+
+    private final Time departureTime;
+
+    private final Station arrivalStation;
+
+    private final Time arrivalTime;
+
+    /**
+     * Initializes a leg with the train's schedule and the stations and times
+     * where it is boarded and left.
+     */
+    public LegClass(Schedule schedule, Station departureStation, Time departureTime,
+                    Station arrivalStation, Time arrivalTime) {
+        this.schedule = schedule;
+        this.departureStation = departureStation;
+        this.departureTime = departureTime;
+        this.arrivalStation = arrivalStation;
+        this.arrivalTime = arrivalTime;
+    }
+
+    @Override
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    @Override
+    public Station getDepartureStation() {
+        return departureStation;
+    }
+
+    @Override
+    public Time getDepartureTime() {
+        return departureTime;
+    }
+
+    @Override
+    public Station getArrivalStation() {
+        return arrivalStation;
+    }
+
+    @Override
+    public Time getArrivalTime() {
+        return arrivalTime;
+    }
+}
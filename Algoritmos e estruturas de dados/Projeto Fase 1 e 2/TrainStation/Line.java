@@ -35,6 +35,13 @@ public interface Line extends LineGets, Comparable<Line> {
             throws NonExistentDepartureStationException, ImpossibleRouteException;
 
 
+    /**
+     * Gets the schedules that start at one end of the line
+     * @param fromFirstStation true for the schedules that start at the first station
+     * @return iterator
+     */
+    Iterator<Entry<Time,Schedule>> getSchedulesIterator(boolean fromFirstStation);
+
     /**
      * Adds a station
      * @param station
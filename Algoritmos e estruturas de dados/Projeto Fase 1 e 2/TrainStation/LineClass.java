@@ -21,22 +21,61 @@ public class LineClass implements Line {
 
 	private transient String name;
 
+    private transient InsensitiveKey nameKey;
+
     private transient List<Station> stations;
 
+    /**
+     * Position of each station in the list of stations
+     * (null until it is first used, in a line that was loaded).
+     */
+    private transient Dictionary<Station, Integer> stationPositions;
+
     private transient OrderedDictionary<Time, Schedule> departureSchedules;
 
     private transient OrderedDictionary<Time, Schedule> arrivalSchedules;
 
+    /**
+     * Stops of the trains of each direction, sorted by arrival time at each station
+     * (null until first used, in a line that was loaded).
+     */
+    private transient ArrivalIndex departureIndex, arrivalIndex;
+
+    /**
+     * True if some station appears more than once in the list of stations.
+     */
+    private transient boolean repeatedStations;
+
     /**
      * Initializes a line with its name, a list of stations and a sorted list of schedules.
+     * The schedules are kept in B+ trees.
      *
      * @param name the name of the line
      */
     public LineClass(String name) {
+        this(name, new BPlusTree<>(), new BPlusTree<>());
+    }
+
+    /**
+     * Initializes a line with its name, a list of stations and the given
+     * empty dictionaries to keep the departure and arrival schedules
+     * (SnapshotAVLTrees, for instance, so that an iteration of the schedules
+     * of one direction reads a single version of them while they change).
+     *
+     * @param name the name of the line
+     * @param departureSchedules empty dictionary of the departure schedules
+     * @param arrivalSchedules empty dictionary of the arrival schedules
+     */
+    public LineClass(String name, OrderedDictionary<Time, Schedule> departureSchedules,
+                     OrderedDictionary<Time, Schedule> arrivalSchedules) {
         this.name = name;
+        this.nameKey = new InsensitiveKey(name);
         this.stations = new DoubleList<>();
-        this.departureSchedules = new AVLTree<>();
-        this.arrivalSchedules = new AVLTree<>();
+        this.stationPositions = new CompactHashTable<>();
+        this.departureSchedules = departureSchedules;
+        this.arrivalSchedules = arrivalSchedules;
+        this.departureIndex = new ArrivalIndex(departureSchedules);
+        this.arrivalIndex = new ArrivalIndex(arrivalSchedules);
     }
 
     @Override
@@ -44,11 +83,27 @@ public class LineClass implements Line {
         return name;
     }
 
+    @Override
+    public InsensitiveKey getNameKey() {
+        return nameKey;
+    }
+
     @Override
     public Iterator<Station> getStationsIterator() {
         return stations.iterator();
     }
 
+    @Override
+    public int getStationPosition(Station station) {
+        Integer position = stationPositions().find(station);
+        return position == null ? -1 : position;
+    }
+
+    @Override
+    public boolean hasStation(Station station) {
+        return stationPositions().find(station) != null;
+    }
+
 
     @Override
     public Iterator<Entry<Time, Schedule>> getIteratorOfStartStationNEW(Station departureStation) {
@@ -61,72 +116,56 @@ public class LineClass implements Line {
         return arrivalSchedules.iterator();
     }
 
+    @Override
+    public Iterator<Entry<Time, Schedule>> getSchedulesIterator(boolean fromFirstStation) {
+        return fromFirstStation ? departureSchedules.iterator() : arrivalSchedules.iterator();
+    }
+
     @Override
     public Schedule getBestSchedule(Station departureStation, Station arrivalStation, String date)
             throws NonExistentDepartureStationException, ImpossibleRouteException {
 
-        if (departureStation == null || stations.find(departureStation) == -1)
+        if (departureStation == null || !hasStation(departureStation))
             throw new NonExistentDepartureStationException();
-        if (arrivalStation == null || stations.find(arrivalStation) == -1)
+        if (arrivalStation == null || !hasStation(arrivalStation))
             throw new ImpossibleRouteException();
 
-        Iterator<Entry<Time,Schedule>> schedulesIterator = departureSchedules.iterator();
-            Schedule bestSchedule = null;
-            int bestTime = -1;
-            while (schedulesIterator.hasNext()) {
-                Entry<Time,Schedule> entry = schedulesIterator.next();
-                Schedule schedule = entry.getValue();
-                int time = schedule.getTimeToStation(departureStation, arrivalStation, date);
-                if (time == 0)
-                    return schedule;
-                if (time > 0) {
-                    if (bestTime == -1 || time < bestTime) {
-                        bestTime = time;
-                        bestSchedule = schedule;
-                    }
-                }
-            }
-            if (bestSchedule != null) {
-                return bestSchedule;
-            }
-            schedulesIterator = arrivalSchedules.iterator();
-            while (schedulesIterator.hasNext()) {
-                Entry<Time,Schedule> entry = schedulesIterator.next();
-                Schedule schedule = entry.getValue();
-                int time = schedule.getTimeToStation(departureStation, arrivalStation, date);
-                if (time == 0)
-                    return schedule;
-                if (time > 0) {
-                    if (bestTime == -1 || time < bestTime) {
-                        bestTime = time;
-                        bestSchedule = schedule;
-                    }
-                }
-            }
-            if (bestSchedule == null) {
-                throw new ImpossibleRouteException();
-            } else {
-                return bestSchedule;
-            }
+        // Sem estações repetidas, só os comboios de um dos sentidos vão de uma
+        // estação à outra, e todos os que param nas duas vão no sentido certo.
+        Time latestArrival = TimeClass.parse(date);
+        int from = getStationPosition(departureStation), to = getStationPosition(arrivalStation);
+        boolean repeated = hasRepeatedStations();
+        Schedule bestSchedule = null;
+        if (repeated || from < to)
+            bestSchedule = departureIndex().latest(departureStation, arrivalStation, latestArrival, !repeated);
+        if (bestSchedule == null && (repeated || from > to))
+            bestSchedule = arrivalIndex().latest(departureStation, arrivalStation, latestArrival, !repeated);
+        if (bestSchedule == null)
+            throw new ImpossibleRouteException();
+        return bestSchedule;
     }
 
     @Override
     public void addStation(Station station) {
+        indexStation(station, stations.size());
         stations.addLast(station);
     }
 
     @Override
     public void removeSchedule(Station departureStation, String startTime) throws ScheduleDoesNotExistException {
 
+        Time departureTime = TimeClass.parse(startTime);
         if(departureStation.equals(stations.getFirst())){
-            Schedule schedule = departureSchedules.remove(new TimeClass(startTime));
+            Schedule schedule = departureSchedules.remove(departureTime);
             if(schedule == null)
                 throw new ScheduleDoesNotExistException();
+            departureIndex().remove(schedule, departureTime);
             schedule.removeScheduleOfStation();
         }else{
-            Schedule schedule = arrivalSchedules.remove(new TimeClass(startTime));
+            Schedule schedule = arrivalSchedules.remove(departureTime);
             if(schedule == null)
                 throw new ScheduleDoesNotExistException();
+            arrivalIndex().remove(schedule, departureTime);
             schedule.removeScheduleOfStation();
         }
     }
@@ -137,9 +176,9 @@ public class LineClass implements Line {
         if (isStationTerminal(firstStationNameOnQueue)) {
             throw new InvalidScheduleException();
         }
-        boolean isDepartureSchedule = firstStationNameOnQueue.equalsIgnoreCase(stations.getFirst().getName());
+        boolean isDepartureSchedule = stations.getFirst().getNameKey().matches(firstStationNameOnQueue);
         List<Entry<Station, Time>> scheduleList = new DoubleList<>();
-        Time departureTime = new TimeClass(queueSchedule.peek().getValue());
+        Time departureTime = TimeClass.parse(queueSchedule.peek().getValue());
         if (isDepartureSchedule) {
             TwoWayIterator<Station> stationIt = stations.iterator();
             Time previous = null;
@@ -162,10 +201,12 @@ public class LineClass implements Line {
                 if (isOvertakingDeparture(schedule, departureTime))
                     throw new InvalidScheduleException();
                 departureSchedules.insert(departureTime, schedule);
+                departureIndex().add(schedule, departureTime);
             } else {
                 if (isOvertakingArrival(schedule, departureTime))
                     throw new InvalidScheduleException();
                 arrivalSchedules.insert(departureTime, schedule);
+                arrivalIndex().add(schedule, departureTime);
             }
             schedule.addStops();
         } else {
@@ -174,9 +215,9 @@ public class LineClass implements Line {
     }
 
     private Time getTime(Queue<Entry<String, String>> queueSchedule, List<Entry<Station, Time>> scheduleList, Time previous, Station station) {
-        if (!queueSchedule.isEmpty() && station.getName().equalsIgnoreCase(queueSchedule.peek().getKey())) {
+        if (!queueSchedule.isEmpty() && station.getNameKey().matches(queueSchedule.peek().getKey())) {
             Entry<String, String> currentEntry = queueSchedule.dequeue();
-            Time currentTime = new TimeClass(currentEntry.getValue());
+            Time currentTime = TimeClass.parse(currentEntry.getValue());
             if (previous != null && previous.compareTo(currentTime) >= 0) {
                 throw new InvalidScheduleException();
             } else {
@@ -241,14 +282,19 @@ public class LineClass implements Line {
 
     @Override
     public int compareTo(Line o) {
-        return this.name.toUpperCase().compareTo(o.getName().toUpperCase());
+        return this.nameKey.compareTo(o.getNameKey());
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof LineClass other)) return false;
-        return this.name.equalsIgnoreCase(other.getName());
+        return this.nameKey.equals(other.getNameKey());
+    }
+
+    @Override
+    public int hashCode() {
+        return nameKey.hashCode();
     }
 
 
@@ -260,7 +306,67 @@ public class LineClass implements Line {
      * @return true if the station is a terminal, false otherwise
      */
     private boolean isStationTerminal(String stationName) {
-        return !stationName.equalsIgnoreCase(stations.getFirst().getName()) && !stationName.equalsIgnoreCase(stations.getLast().getName());
+        return !stations.getFirst().getNameKey().matches(stationName) && !stations.getLast().getNameKey().matches(stationName);
+    }
+
+    /**
+     * Returns the positions of the stations, indexing them if the line was loaded.
+     * They are not indexed while the line is read: a station shared with
+     * another line may still be being read, without the key its hash code uses.
+     * @return the position of each station
+     */
+    private Dictionary<Station, Integer> stationPositions() {
+        if (stationPositions == null) {
+            stationPositions = new CompactHashTable<>();
+            Iterator<Station> stationIt = stations.iterator();
+            for (int position = 0; stationIt.hasNext(); position++)
+                indexStation(stationIt.next(), position);
+        }
+        return stationPositions;
+    }
+
+    /**
+     * Returns true if some station appears more than once in the list of
+     * stations, indexing them if the line was loaded.
+     * @return true if the line has repeated stations
+     */
+    private boolean hasRepeatedStations() {
+        stationPositions();
+        return repeatedStations;
+    }
+
+    /**
+     * Returns the index of the schedules that start at the first station,
+     * building it if the line was loaded (as the positions of the stations).
+     * @return the index of the departure schedules
+     */
+    private ArrivalIndex departureIndex() {
+        if (departureIndex == null)
+            departureIndex = new ArrivalIndex(departureSchedules);
+        return departureIndex;
+    }
+
+    /**
+     * Returns the index of the schedules that start at the last station,
+     * building it if the line was loaded.
+     * @return the index of the arrival schedules
+     */
+    private ArrivalIndex arrivalIndex() {
+        if (arrivalIndex == null)
+            arrivalIndex = new ArrivalIndex(arrivalSchedules);
+        return arrivalIndex;
+    }
+
+    /**
+     * Keeps the position of a station, unless it already is on the line.
+     * @param station the station
+     * @param position its position in the list of stations
+     */
+    private void indexStation(Station station, int position) {
+        if (stationPositions().find(station) == null)
+            stationPositions.insert(station, position);
+        else
+            repeatedStations = true;
     }
 
     /**
@@ -287,8 +393,8 @@ public class LineClass implements Line {
             Entry<Station, Time> stop1 = it1.next();
             Entry<Station, Time> stop2 = it2.next();
             while (!overtaking) {
-                int index1 = stations.find(stop1.getKey());
-                int index2 = stations.find(stop2.getKey());
+                int index1 = getStationPosition(stop1.getKey());
+                int index2 = getStationPosition(stop2.getKey());
                 if (index1 == index2 && stop1.getValue().compareTo(stop2.getValue()) <= 0) {
                     overtaking = true;
                 } else if (index1 > index2) {
@@ -307,8 +413,8 @@ public class LineClass implements Line {
             Entry<Station, Time> stop1 = it1.next();
             Entry<Station, Time> stop2 = it2.next();
             while (!overtaking) {
-                int index1 = stations.find(stop1.getKey());
-                int index2 = stations.find(stop2.getKey());
+                int index1 = getStationPosition(stop1.getKey());
+                int index2 = getStationPosition(stop2.getKey());
                 if (index1 == index2 && stop1.getValue().compareTo(stop2.getValue()) >= 0) {
                     overtaking = true;
                 } else if (index1 > index2) {
@@ -343,9 +449,10 @@ public class LineClass implements Line {
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
         name = in.readUTF();
+        nameKey = new InsensitiveKey(name);
         stations = (DoubleList<Station>) in.readObject();
-        departureSchedules = (AVLTree<Time,Schedule>) in.readObject();
-        arrivalSchedules = (AVLTree<Time,Schedule>) in.readObject();
+        departureSchedules = (OrderedDictionary<Time,Schedule>) in.readObject();
+        arrivalSchedules = (OrderedDictionary<Time,Schedule>) in.readObject();
     }
 
 
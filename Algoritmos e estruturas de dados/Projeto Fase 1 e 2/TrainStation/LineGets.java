@@ -18,6 +18,12 @@ public interface LineGets extends Serializable {
      */
     String getName();
 
+    /**
+     * Gets the case insensitive key of the line name
+     * @return name key
+     */
+    InsensitiveKey getNameKey();
+
 
     /**
      * Gets and iterator for the stations list
@@ -25,6 +31,20 @@ public interface LineGets extends Serializable {
      */
     Iterator<Station> getStationsIterator();
 
+    /**
+     * Gets the position of a station in the line
+     * @param station
+     * @return position, or -1 if the station is not on the line
+     */
+    int getStationPosition(Station station);
+
+    /**
+     * Checks if a station is on the line
+     * @param station
+     * @return true if the station is on the line
+     */
+    boolean hasStation(Station station);
+
 
     /**
      * Gets the schedule of the first station in the list
@@ -99,6 +99,32 @@ public interface RailNetwork extends Serializable {
      */
     Iterator<Entry<Integer,Time>> getSchedulesByStation(String stationName) throws StationDoesNotExistException;
 
+    /**
+     * Finds the journey, on one or more lines, that arrives the earliest
+     * @param startStation
+     * @param endStation
+     * @param departureTime earliest departure time
+     * @param transferTime minutes needed to change trains
+     * @return iterator of the legs of the journey
+     * @throws StationDoesNotExistException
+     * @throws ImpossibleRouteException
+     */
+    Iterator<Leg> getEarliestJourney(String startStation, String endStation, String departureTime, int transferTime)
+            throws StationDoesNotExistException, ImpossibleRouteException;
+
+    /**
+     * Finds the journey, on one or more lines, that departs the latest
+     * @param startStation
+     * @param endStation
+     * @param arrivalTime latest arrival time
+     * @param transferTime minutes needed to change trains
+     * @return iterator of the legs of the journey
+     * @throws StationDoesNotExistException
+     * @throws ImpossibleRouteException
+     */
+    Iterator<Leg> getLatestJourney(String startStation, String endStation, String arrivalTime, int transferTime)
+            throws StationDoesNotExistException, ImpossibleRouteException;
+
 
 
 
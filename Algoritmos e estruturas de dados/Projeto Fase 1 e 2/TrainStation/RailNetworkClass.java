@@ -3,6 +3,8 @@ package TrainStation;
 import Exceptions.*;
 import dataStructures.*;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serial;
 
 
@@ -22,11 +24,19 @@ public class RailNetworkClass implements RailNetwork{
     private Dictionary<String,Station> stations;
 
     /**
-     * Initializes the lines and stations lists
+     * Connections of all the schedules, built on the first journey query
+     * after the schedules change.
+     */
+    private transient volatile JourneyPlanner planner;
+
+    /**
+     * Initializes the lines and stations lists.
+     * Both are kept behind Bloom filters, since many commands name
+     * lines or stations that do not exist.
      */
     public RailNetworkClass() {
-        this.lines = new InsensitiveSepChainHashTable<>();
-        this.stations = new InsensitiveSepChainHashTable<>();
+        this.lines = new InsensitiveBloomFilterDictionary<>(new InsensitiveConcurrentSepChainHashTable<>());
+        this.stations = new InsensitiveBloomFilterDictionary<>(new InsensitiveConcurrentSepChainHashTable<>());
     }
 
     @Override
@@ -36,24 +46,33 @@ public class RailNetworkClass implements RailNetwork{
 
         Line line = new LineClass(lineName);
         while (!queue.isEmpty()) {
-            String stationName = queue.dequeue();
-            Station station = stations.find(stationName);
-            if (station == null) {
-                station = new StationClass(stationName);
-                stations.insert(stationName, station);
-            }
+            Station station = stations.computeIfAbsent(queue.dequeue(), StationClass::new);
             station.addLine(line);
             line.addStation(station);
         }
-        lines.insert(lineName, line);
+        // A linha só é publicada com as estações todas; se outra com o mesmo
+        // nome foi publicada entretanto, as estações deixam de a referir.
+        if (lines.putIfAbsent(lineName, line) != null) {
+            detachStations(line);
+            throw new AlreadyExistLineException();
+        }
     }
     @Override
     public void removeLine(String lineName) throws LineDoesNotExistException {
        Line line = lines.remove(lineName);
         if (line == null)
             throw new LineDoesNotExistException();
-        Iterator<Station> iterator = line.getStationsIterator();
+        planner = null;
         line.removeScheduleOfStation();
+        detachStations(line);
+    }
+
+    /**
+     * Removes a line from its stations, and the stations left without lines.
+     * @param line the line
+     */
+    private void detachStations(Line line) {
+        Iterator<Station> iterator = line.getStationsIterator();
         while (iterator.hasNext()) {
             Station station = iterator.next();
             if(station.getNumberOfLines() == 1){
@@ -90,6 +109,7 @@ public class RailNetworkClass implements RailNetwork{
             throw new LineDoesNotExistException();
 
         line.addSchedule(trainNumber, queueSchedule);
+        planner = null;
     }
 
 
@@ -102,6 +122,7 @@ public class RailNetworkClass implements RailNetwork{
             throw new LineDoesNotExistException();
         Station departureStation = stations.find(startStation);
         line.removeSchedule(departureStation, startTime);
+        planner = null;
     }
     @Override
     public Iterator<Entry<Time,Schedule>> getSchedulesOfStartStation(String lineName, String startStation)
@@ -132,6 +153,53 @@ public class RailNetworkClass implements RailNetwork{
         return line.getBestSchedule(departureStation,arrivalStation,expArrivalTime);
     }
 
-}
+    @Override
+    public Iterator<Leg> getEarliestJourney(String startStation, String endStation, String departureTime, int transferTime)
+            throws StationDoesNotExistException, ImpossibleRouteException {
+        Station departureStation = stations.find(startStation);
+        Station arrivalStation = stations.find(endStation);
+        if (departureStation == null || arrivalStation == null)
+            throw new StationDoesNotExistException();
+        List<Leg> legs = getPlanner().earliestArrival(departureStation, arrivalStation,
+                TimeClass.parse(departureTime), Math.max(transferTime, 0));
+        if (legs == null)
+            throw new ImpossibleRouteException();
+        return legs.iterator();
+    }
+
+    @Override
+    public Iterator<Leg> getLatestJourney(String startStation, String endStation, String arrivalTime, int transferTime)
+            throws StationDoesNotExistException, ImpossibleRouteException {
+        Station departureStation = stations.find(startStation);
+        Station arrivalStation = stations.find(endStation);
+        if (departureStation == null || arrivalStation == null)
+            throw new StationDoesNotExistException();
+        List<Leg> legs = getPlanner().latestDeparture(departureStation, arrivalStation,
+                TimeClass.parse(arrivalTime), Math.max(transferTime, 0));
+        if (legs == null)
+            throw new ImpossibleRouteException();
+        return legs.iterator();
+    }
 
+    // O planeador é construído numa variável local e só depois publicado,
+    // para que quem o leia nunca veja um planeador a meio da construção.
+    private JourneyPlanner getPlanner() {
+        JourneyPlanner current = planner;
+        if (current == null) {
+            current = new JourneyPlanner(lines.iterator());
+            planner = current;
+        }
+        return current;
+    }
 
+    // Redes gravadas antes dos filtros passam a tê-los ao serem carregadas.
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (!(lines instanceof BloomFilterDictionary))
+            lines = new InsensitiveBloomFilterDictionary<>(lines);
+        if (!(stations instanceof BloomFilterDictionary))
+            stations = new InsensitiveBloomFilterDictionary<>(stations);
+    }
+
+}
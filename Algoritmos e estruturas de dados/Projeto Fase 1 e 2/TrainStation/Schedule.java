@@ -12,10 +12,10 @@ public interface Schedule extends ScheduleGets {
      * Checks if a schedule is the best time
      * @param startStation
      * @param endStation
-     * @param date
+     * @param time
      * @return minutes
      */
-    int getTimeToStation(Station startStation, Station endStation, String date);
+    int getTimeToStation(Station startStation, Station endStation, Time time);
 
     /**
      * Adds stops(station and time) to a schedule
@@ -43,27 +43,24 @@ public class ScheduleClass implements Schedule, Serializable {
     }
 
     @Override
-    public int getTimeToStation(Station departureStation, Station arrivalStation, String date) {
+    public int getTimeToStation(Station departureStation, Station arrivalStation, Time time) {
         Iterator<Entry<Station, Time>> entryIterator = route.iterator();
-        Time time = new TimeClass(date);
         int timeDifference = -1;
         while (entryIterator.hasNext()) {
             Entry<Station, Time> entry = entryIterator.next();
             Station currentStation = entry.getKey();
-            if (currentStation.getName().equalsIgnoreCase(departureStation.getName())) {
+            if (currentStation.getNameKey().equals(departureStation.getNameKey())) {
                 while (entryIterator.hasNext()) {
                     Entry<Station, Time> entry2 = entryIterator.next();
                     Station currentStation2 = entry2.getKey();
-                    if (currentStation2.getName().equalsIgnoreCase(arrivalStation.getName())) {
+                    if (currentStation2.getNameKey().equals(arrivalStation.getNameKey())) {
                         if (entry2.getValue().compareTo(time) > 0) {
                             return -1;
                         } else {
-                            int hourDifference = time.getHours() - entry2.getValue().getHours();
-                            int minuteDifference = time.getMinutes() - entry2.getValue().getMinutes();
-                            return (hourDifference * 60) + minuteDifference;
+                            return time.getMinuteOfDay() - entry2.getValue().getMinuteOfDay();
                         }
                     }
-                    if (!entryIterator.hasNext() && !currentStation2.getName().equalsIgnoreCase(arrivalStation.getName())) {
+                    if (!entryIterator.hasNext() && !currentStation2.getNameKey().equals(arrivalStation.getNameKey())) {
                         return -1;
                     }
                 }
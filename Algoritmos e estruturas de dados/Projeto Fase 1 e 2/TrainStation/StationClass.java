@@ -17,23 +17,42 @@ public class StationClass implements Station, Serializable {
 
 	private  String name;
 
+    private transient InsensitiveKey nameKey;
+
     private OrderedDictionary<Line,Line> lines;//  AVL
 
-    private  OrderedDictionary<Integer,Time> trains;
+    /**
+     * Passagens de comboios pela estação, ordenadas por hora e depois por número do comboio.
+     */
+    private LongAVLSet passages;
 
     /**
      * Initializes the lines list and stations name
      */
     public StationClass(String name){
-        lines = new AVLTree<>();
-        trains = new AVLWithComparator<>(new StationComparator());
+        this(name, new AVLTree<>());
+    }
+
+    /**
+     * Initializes the station name and the given empty dictionary to keep its lines
+     * (a ConcurrentSkipList, for instance, when several threads share the network)
+     */
+    public StationClass(String name, OrderedDictionary<Line,Line> lines){
+        this.lines = lines;
+        passages = new LongAVLSet();
         this.name = name;
+        this.nameKey = new InsensitiveKey(name);
     }
 
     public boolean equals(Object o) {
         if(this == o) return true;
         if(!(o instanceof StationClass other)) return false;
-        return this.name.equalsIgnoreCase(other.getName());
+        return this.nameKey.equals(other.getNameKey());
+    }
+
+    @Override
+    public int hashCode() {
+        return nameKey.hashCode();
     }
 
     @Override
@@ -41,6 +60,11 @@ public class StationClass implements Station, Serializable {
         return name;
     }
 
+    @Override
+    public InsensitiveKey getNameKey() {
+        return nameKey;
+    }
+
     @Override
     public void addLine(Line line) {
         lines.insert(line,line);
@@ -58,7 +82,7 @@ public class StationClass implements Station, Serializable {
 
     @Override
     public Iterator<Entry<Integer, Time>> getSchedules() {
-        return trains.iterator();
+        return new PassageIterator(passages.iterator());
     }
 
     @Override
@@ -68,17 +92,85 @@ public class StationClass implements Station, Serializable {
 
     @Override
     public void addSchedule(int trainId, Time value) {
-        trains.insert(trainId, value);
+        passages.insert(pack(trainId, value));
     }
 
     @Override
     public void removeSchedule(int trainId, Time value) {
-        trains.remove(trainId,value);
+        passages.remove(pack(trainId, value));
     }
 
     @Override
     public int compareTo(Station o) {
-        return this.name.compareTo(o.getName());
+        return this.nameKey.compareTo(o.getNameKey());
+    }
+
+    /**
+     * Packs a passage in a long whose order is the order of StationComparator:
+     * minute of the day in the upper half and train number in the lower half
+     * (with the sign bit flipped, so that negative numbers come first).
+     */
+    private static long pack(int trainId, Time time) {
+        long minute = time.getMinuteOfDay();
+        return minute << 32 | (trainId ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    private static int trainIdOf(long passage) {
+        return (int) passage ^ Integer.MIN_VALUE;
+    }
+
+    private static Time timeOf(long passage) {
+        return TimeClass.of((int) (passage >>> 32));
+    }
+
+    /**
+     * Iterator of the passages as entries of train number and time.
+     */
+    private static class PassageIterator implements Iterator<Entry<Integer, Time>> {
+
+        private static final long serialVersionUID = 0L;
+
+        private final LongIterator it;
+
+        PassageIterator(LongIterator it) {
+            this.it = it;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public Entry<Integer, Time> next() throws NoSuchElementException {
+            long passage = it.next();
+            return new EntryClass<>(trainIdOf(passage), timeOf(passage));
+        }
+
+        @Override
+        public void rewind() {
+            it.rewind();
+        }
+    }
+
+    // Ficheiros antigos guardavam as passagens em trains, uma AVLWithComparator,
+    // que é lida como a lista das suas entradas; são convertidas.
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        name = (String) fields.get("name", null);
+        lines = (OrderedDictionary<Line, Line>) fields.get("lines", null);
+        if (fields.getObjectStreamClass().getField("trains") != null) {
+            passages = new LongAVLSet();
+            Iterator<Entry<Integer, Time>> it = ((List<Entry<Integer, Time>>) fields.get("trains", null)).iterator();
+            while (it.hasNext()) {
+                Entry<Integer, Time> entry = it.next();
+                passages.insert(pack(entry.getKey(), entry.getValue()));
+            }
+        } else
+            passages = (LongAVLSet) fields.get("passages", null);
+        nameKey = new InsensitiveKey(name);
     }
 
 }
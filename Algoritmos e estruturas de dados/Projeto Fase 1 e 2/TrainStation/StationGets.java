@@ -1,6 +1,7 @@
 package TrainStation;
 
 import dataStructures.Entry;
+import dataStructures.InsensitiveKey;
 import dataStructures.Iterator;
 
 import java.io.Serializable;
@@ -17,6 +18,12 @@ public interface StationGets  extends Serializable {
      */
     String getName();
 
+    /**
+     * Gets back the case insensitive key of the station name
+     * @return name key
+     */
+    InsensitiveKey getNameKey();
+
     /**
      * Gets back the lines of the station
      * @return iterator
@@ -19,6 +19,12 @@ public interface Time extends Comparable<Time> {
      */
     int getMinutes();
 
+    /**
+     * Gets the number of minutes since midnight
+     * @return hours * 60 + minutes
+     */
+    int getMinuteOfDay();
+
 
 
 }
@@ -1,59 +1,153 @@
 package TrainStation;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serial;
 import java.io.Serializable;
 
 /**
+ * A time of the day, kept as the number of minutes since midnight.
+ * Times are immutable and shared: there is a single instance for each of
+ * the 1440 minutes of a day, obtained with of or parse, so reading a
+ * timetable does not allocate times.
  * @author Leandro Rodrigues 68211 lms.rodrigues@campus.fct.unl.pt
  * @author Rodrigo Sinde 68614 r.sinde@campus.fct.unl.pt
  */
 public class TimeClass implements Time, Serializable {
     /**
-	 * 
+	 *
 	 */
     private static final long serialVersionUID = 0L;
-	private int hours;
-    private int minutes;
-    private String time;
 
     /**
-     * Gets variable time as an argument
+     * Number of minutes of a day.
      */
-    public TimeClass(String time) {
-        this.time = time;
-        convertTime();
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * The serialized form keeps the hours and minutes of the older versions.
+     */
+    @Serial
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("hours", int.class),
+            new ObjectStreamField("minutes", int.class)
+    };
+
+    /**
+     * The instance of each minute of the day.
+     */
+    private static final TimeClass[] TIMES = new TimeClass[MINUTES_PER_DAY];
+
+    static {
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++)
+            TIMES[minute] = new TimeClass(minute);
+    }
+
+    private int minuteOfDay;
+
+    private TimeClass(int minuteOfDay) {
+        this.minuteOfDay = minuteOfDay;
+    }
+
+    /**
+     * Returns the time with the specified number of minutes since midnight.
+     * Times outside a day are not shared.
+     */
+    public static Time of(int minuteOfDay) {
+        if (minuteOfDay >= 0 && minuteOfDay < MINUTES_PER_DAY)
+            return TIMES[minuteOfDay];
+        return new TimeClass(minuteOfDay);
+    }
+
+    /**
+     * Returns the time with the specified hours and minutes.
+     */
+    public static Time of(int hours, int minutes) {
+        return of(hours * 60 + minutes);
+    }
+
+    /**
+     * Returns the time written in the specified text (format "HH:MM").
+     * @throws NumberFormatException if the text is not a time
+     */
+    public static Time parse(CharSequence time) {
+        return of(parseMinuteOfDay(time));
+    }
+
+    /**
+     * Returns the minutes since midnight of the time written in the
+     * specified text (format "HH:MM"), without allocating.
+     * @throws NumberFormatException if the text is not a time
+     */
+    public static int parseMinuteOfDay(CharSequence time) {
+        int hours = 0, minutes = 0, digits = 0, i = 0, length = time.length();
+        for (; i < length && time.charAt(i) != ':'; i++, digits++)
+            hours = hours * 10 + digit(time, i);
+        if (digits == 0 || i == length)
+            throw new NumberFormatException("For input string: \"" + time + "\"");
+        for (i++, digits = 0; i < length; i++, digits++)
+            minutes = minutes * 10 + digit(time, i);
+        if (digits == 0)
+            throw new NumberFormatException("For input string: \"" + time + "\"");
+        return hours * 60 + minutes;
+    }
+
+    private static int digit(CharSequence time, int i) {
+        char c = time.charAt(i);
+        if (c < '0' || c > '9')
+            throw new NumberFormatException("For input string: \"" + time + "\"");
+        return c - '0';
     }
 
     @Override
     public int compareTo(Time o) {
-        if(this.hours - o.getHours() != 0){
-            return this.hours - o.getHours();
-        }
-          return this.minutes - o.getMinutes();
+        return Integer.compare(minuteOfDay, o.getMinuteOfDay());
     }
 
     @Override
     public int getHours() {
-        return hours;
+        return minuteOfDay / 60;
     }
 
     @Override
     public int getMinutes() {
-        return minutes;
+        return minuteOfDay % 60;
     }
 
-    /**
-     * Converts the time string (format "HH:MM") into hours and minutes.
-     */
-    private void convertTime() {
-        String[] tokens = time.split(":");
-        hours = Integer.parseInt(tokens[0]);
-        minutes = Integer.parseInt(tokens[1]);
+    @Override
+    public int getMinuteOfDay() {
+        return minuteOfDay;
     }
 
-}
-
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Time && ((Time) o).getMinuteOfDay() == minuteOfDay;
+    }
 
+    @Override
+    public int hashCode() {
+        return minuteOfDay;
+    }
 
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("hours", this.getHours());
+        fields.put("minutes", this.getMinutes());
+        out.writeFields();
+    }
 
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        minuteOfDay = fields.get("hours", 0) * 60 + fields.get("minutes", 0);
+    }
 
+    // Os tempos lidos são substituídos pela instância partilhada.
+    @Serial
+    private Object readResolve() {
+        return of(minuteOfDay);
+    }
 
+}
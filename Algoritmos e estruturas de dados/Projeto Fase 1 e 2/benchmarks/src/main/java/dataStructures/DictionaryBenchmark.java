@@ -0,0 +1,152 @@
+package dataStructures;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the dictionaries: lookups, insertions, removals, iteration
+ * and a serialization round trip, for each structure, size and key distribution.
+ * The values are boxed once, in the setup, so that the allocation reported
+ * by the gc profiler is that of the structure itself.
+ * @author AED team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DictionaryBenchmark {
+
+    /**
+     * Number of lookups of each invocation of find.
+     */
+    static final int LOOKUPS = 1024;
+
+    @Param({"SepChainHashTable", "InsensitiveSepChainHashTable", "RobinHoodHashTable",
+            "InsensitiveRobinHoodHashTable", "CompactHashTable", "InsensitiveCompactHashTable",
+            "ConcurrentSepChainHashTable", "AVLTree",
+            "BinarySearchTree", "ArrayAVLTree", "SnapshotAVLTree", "BPlusTree",
+            "ConcurrentSkipList", "OrderedDoubleList"})
+    public String structure;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPF", "SEQUENTIAL", "STATION_NAMES"})
+    public KeyDistribution distribution;
+
+    /**
+     * Keys, in insertion order.
+     */
+    private String[] keys;
+
+    /**
+     * Value of each key.
+     */
+    private Integer[] values;
+
+    /**
+     * Keys looked up by find, in lookup order.
+     */
+    private String[] lookups;
+
+    /**
+     * Dictionary with all the keys, for the benchmarks that do not change it.
+     */
+    private Dictionary<String,Integer> dictionary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        keys = distribution.keys(size, random);
+        values = new Integer[size];
+        for (int i = 0; i < size; i++)
+            values[i] = i;
+        int[] accesses = distribution.accesses(size, LOOKUPS, random);
+        lookups = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++)
+            lookups[i] = keys[accesses[i]];
+        dictionary = this.filled();
+    }
+
+    /**
+     * Prints the statistics of the dictionary, when instrumentation is on.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (DictionaryStats.ENABLED && dictionary instanceof Instrumented)
+            System.out.println(structure + ": " + ((Instrumented) dictionary).stats());
+    }
+
+    /**
+     * Returns a new dictionary of the benchmarked structure with all the keys.
+     * @return the dictionary
+     */
+    private Dictionary<String,Integer> filled() {
+        Dictionary<String,Integer> dictionary = Structures.newDictionary(structure);
+        for (int i = 0; i < size; i++)
+            dictionary.insert(keys[i], values[i]);
+        return dictionary;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void find(Blackhole blackhole) {
+        for (String key : lookups)
+            blackhole.consume(dictionary.find(key));
+    }
+
+    @Benchmark
+    public Dictionary<String,Integer> insertAll() {
+        return this.filled();
+    }
+
+    @Benchmark
+    public Dictionary<String,Integer> insertAndRemoveAll() {
+        Dictionary<String,Integer> dictionary = this.filled();
+        for (String key : keys)
+            dictionary.remove(key);
+        return dictionary;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        Iterator<Entry<String,Integer>> it = dictionary.iterator();
+        while (it.hasNext())
+            blackhole.consume(it.next());
+    }
+
+    @Benchmark
+    public Object serializationRoundTrip() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(dictionary);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package dataStructures;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Distributions of the keys used by the benchmarks: which keys are inserted,
+ * in which order, and which of them are looked up.
+ * @author AED team
+ * @version 1.0
+ */
+public enum KeyDistribution {
+
+    /**
+     * Random keys, inserted in random order and looked up uniformly.
+     */
+    UNIFORM,
+
+    /**
+     * Random keys, inserted in random order and looked up with a Zipf law
+     * (s = 1): the key of rank r is looked up with probability proportional to 1/r.
+     */
+    ZIPF,
+
+    /**
+     * Keys inserted in increasing order and looked up in the same order.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Station-like names, as in the rail network, looked up uniformly.
+     */
+    STATION_NAMES;
+
+    private static final String[] PREFIXES = {
+        "", "São ", "Santa ", "Vila Nova de ", "Póvoa de ", "Alto de ",
+        "Ponte de ", "Quinta do ", "Porto ", "Senhora da "
+    };
+
+    private static final String[] PLACES = {
+        "Lisboa", "Porto", "Coimbra", "Faro", "Braga", "Évora", "Aveiro", "Setúbal",
+        "Viseu", "Leiria", "Guarda", "Tomar", "Sintra", "Cascais", "Oeiras", "Almada",
+        "Barreiro", "Entroncamento", "Pinhal Novo", "Tunes", "Régua", "Pocinho",
+        "Marvão", "Elvas", "Beja", "Tua", "Mirandela", "Valença", "Caminha", "Viana"
+    };
+
+    private static final String[] SUFFIXES = {
+        "", " A", " B", "-Gare", " Oriente", " Apeadeiro", " Norte", " Sul"
+    };
+
+    /**
+     * Returns the specified number of distinct keys, in insertion order.
+     * @param size number of keys
+     * @param random source of the random choices
+     * @return the keys
+     */
+    public String[] keys(int size, Random random) {
+        String[] keys = new String[size];
+        switch (this) {
+            case SEQUENTIAL:
+                for (int i = 0; i < size; i++)
+                    keys[i] = key(i);
+                return keys;
+            case STATION_NAMES:
+                Set<String> names = new HashSet<>();
+                for (int i = 0; i < size; i++) {
+                    String name = PREFIXES[random.nextInt(PREFIXES.length)]
+                            + PLACES[random.nextInt(PLACES.length)]
+                            + SUFFIXES[random.nextInt(SUFFIXES.length)];
+                    // Once the combinations run short, the names are told apart by a number.
+                    if (!names.add(name))
+                        names.add(name = name + " " + i);
+                    keys[i] = name;
+                }
+                return keys;
+            default:
+                Set<Integer> numbers = new HashSet<>();
+                for (int i = 0; i < size; i++) {
+                    int n;
+                    do
+                        n = random.nextInt(100 * size);
+                    while (!numbers.add(n));
+                    keys[i] = key(n);
+                }
+                return keys;
+        }
+    }
+
+    /**
+     * Returns a sequence of indices of keys to be looked up.
+     * @param size number of keys
+     * @param count length of the sequence
+     * @param random source of the random choices
+     * @return the indices of the keys, in lookup order
+     */
+    public int[] accesses(int size, int count, Random random) {
+        int[] accesses = new int[count];
+        switch (this) {
+            case SEQUENTIAL:
+                for (int i = 0; i < count; i++)
+                    accesses[i] = i % size;
+                return accesses;
+            case ZIPF:
+                // The keys are in random order, so the rank of a key is its index.
+                double[] cumulative = new double[size];
+                double sum = 0;
+                for (int r = 0; r < size; r++)
+                    cumulative[r] = sum += 1.0 / (r + 1);
+                for (int i = 0; i < count; i++) {
+                    double u = random.nextDouble() * sum;
+                    int low = 0, high = size - 1;
+                    while (low < high) {
+                        int mid = (low + high) >>> 1;
+                        if (cumulative[mid] < u)
+                            low = mid + 1;
+                        else
+                            high = mid;
+                    }
+                    accesses[i] = low;
+                }
+                return accesses;
+            default:
+                for (int i = 0; i < count; i++)
+                    accesses[i] = random.nextInt(size);
+                return accesses;
+        }
+    }
+
+    private static String key(int n) {
+        return String.format("K%08d", n);
+    }
+}
@@ -0,0 +1,103 @@
+package dataStructures;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the doubly linked list: appending, iteration,
+ * access by position and by element, and removal from the front.
+ * @author AED team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListBenchmark {
+
+    /**
+     * Number of accesses of each invocation of get and find.
+     */
+    static final int ACCESSES = 64;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private String[] elements;
+
+    /**
+     * Positions accessed by get, and whose elements are searched by find.
+     */
+    private int[] positions;
+
+    /**
+     * List with all the elements, for the benchmarks that do not change it.
+     */
+    private List<String> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        elements = KeyDistribution.UNIFORM.keys(size, random);
+        positions = KeyDistribution.UNIFORM.accesses(size, ACCESSES, random);
+        list = this.filled();
+    }
+
+    private List<String> filled() {
+        List<String> list = new DoubleList<>();
+        for (String element : elements)
+            list.addLast(element);
+        return list;
+    }
+
+    @Benchmark
+    public List<String> addLast() {
+        return this.filled();
+    }
+
+    @Benchmark
+    public List<String> addLastAndRemoveFirst() {
+        List<String> list = this.filled();
+        while (!list.isEmpty())
+            list.removeFirst();
+        return list;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        Iterator<String> it = list.iterator();
+        while (it.hasNext())
+            blackhole.consume(it.next());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCESSES)
+    public void get(Blackhole blackhole) {
+        for (int position : positions)
+            blackhole.consume(list.get(position));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCESSES)
+    public void find(Blackhole blackhole) {
+        for (int position : positions)
+            blackhole.consume(list.find(elements[position]));
+    }
+}
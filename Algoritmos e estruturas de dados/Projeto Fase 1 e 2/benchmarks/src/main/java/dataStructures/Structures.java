@@ -0,0 +1,38 @@
+package dataStructures;
+
+/**
+ * Creates the dictionaries being benchmarked, by class name.
+ * @author AED team
+ * @version 1.0
+ */
+final class Structures {
+
+    private Structures() {
+    }
+
+    /**
+     * Returns a new empty dictionary of the specified class.
+     * @param name simple name of the class
+     * @return the new dictionary
+     * @throws IllegalArgumentException if there is no such dictionary
+     */
+    static Dictionary<String,Integer> newDictionary(String name) {
+        return switch (name) {
+            case "SepChainHashTable" -> new SepChainHashTable<>();
+            case "InsensitiveSepChainHashTable" -> new InsensitiveSepChainHashTable<>();
+            case "RobinHoodHashTable" -> new RobinHoodHashTable<>();
+            case "InsensitiveRobinHoodHashTable" -> new InsensitiveRobinHoodHashTable<>();
+            case "CompactHashTable" -> new CompactHashTable<>();
+            case "InsensitiveCompactHashTable" -> new InsensitiveCompactHashTable<>();
+            case "ConcurrentSepChainHashTable" -> new ConcurrentSepChainHashTable<>();
+            case "AVLTree" -> new AVLTree<>();
+            case "BinarySearchTree" -> new BinarySearchTree<>();
+            case "ArrayAVLTree" -> new ArrayAVLTree<>();
+            case "SnapshotAVLTree" -> new SnapshotAVLTree<>();
+            case "BPlusTree" -> new BPlusTree<>();
+            case "ConcurrentSkipList" -> new ConcurrentSkipList<>();
+            case "OrderedDoubleList" -> new OrderedDoubleList<>();
+            default -> throw new IllegalArgumentException("Unknown dictionary: " + name);
+        };
+    }
+}
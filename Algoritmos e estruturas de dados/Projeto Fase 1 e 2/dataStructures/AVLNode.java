@@ -1,5 +1,9 @@
 package dataStructures;                                         
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+
 /**
  * AVL node version of the BSTNode
  * 
@@ -97,10 +101,13 @@ class AVLNode<E> extends BSTNode<E>
     AVLNode<E> tallerChild() {
         return getHeight((AVLNode<E>) left) > getHeight((AVLNode<E>) right) ? (AVLNode<E>) left : (AVLNode<E>) right;
     }
-}
-
-
-
-
-
 
+    // Nós gravados antes de existir o campo size chegam com size 0; os filhos
+    // já estão lidos quando este método corre, por isso o tamanho é recalculado.
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (size == 0)
+            this.setSize();
+    }
+}
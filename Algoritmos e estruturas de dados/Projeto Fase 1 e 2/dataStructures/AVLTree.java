@@ -29,6 +29,25 @@ extends AdvancedBSTree<K,V> implements OrderedDictionary<K,V> {
 		this(null);
 	}
 
+	/**
+	 * Builds a height-balanced AVL tree with the specified entries in linear time,
+	 * without comparisons or rotations.
+	 * Requires: the entries are sorted by key, without repeated keys.
+	 * @param entries iterator of the entries, in key order
+	 * @param size number of entries to be taken from the iterator
+	 * @return the new tree
+	 */
+	public static <K extends Comparable<K>, V> AVLTree<K,V> fromSorted(Iterator<Entry<K,V>> entries, int size) {
+		AVLTree<K,V> tree = new AVLTree<>();
+		tree.buildFromSorted(entries, size);
+		return tree;
+	}
+
+	@Override
+	BSTNode<Entry<K,V>> newNode(Entry<K,V> element, BSTNode<Entry<K,V>> left, BSTNode<Entry<K,V>> right) {
+		return new AVLNode<>(element, null, (AVLNode<Entry<K,V>>) left, (AVLNode<Entry<K,V>>) right);
+	}
+
 	/**
 	 * Rebalance method called by insert and remove.  Traverses the path from
 	 * zPos to the root. For each node encountered, we recompute its height
@@ -56,6 +75,11 @@ extends AdvancedBSTree<K,V> implements OrderedDictionary<K,V> {
 				if(xPos == null){
 					break;
 				}
+				// Em caso de empate (só acontece após uma remoção), o neto do mesmo
+				// lado que yPos permite uma rotação simples.
+				AVLNode<Entry<K, V>> other = (AVLNode<Entry<K, V>>) (xPos == yPos.getLeft() ? yPos.getRight() : yPos.getLeft());
+				if (other != null && other.getHeight() == xPos.getHeight())
+					xPos = (AVLNode<Entry<K, V>>) (yPos == zPos.getLeft() ? yPos.getLeft() : yPos.getRight());
 				// Realiza a reestruturação (rotação simples ou dupla).
 				zPos = (AVLNode<Entry<K, V>>) restructure(xPos);
 				// Após a reestruturação, atualiza as alturas dos nós afetados.
@@ -69,64 +93,19 @@ extends AdvancedBSTree<K,V> implements OrderedDictionary<K,V> {
 
 
 	@Override
-	public V insert(K key, V value) {
-		V valueToReturn = null;
-		AVLNode<Entry<K, V>> newNode = null;
-		AVLNode<Entry<K, V>> node = (AVLNode<Entry<K, V>>) findNode(key);
-
-		if (node == null || node.getElement().getKey().compareTo(key) != 0) {
-			newNode = new AVLNode<>(new EntryClass<>(key, value), node, null, null);
-			this.linkSubtreeInsert(newNode, node);
-			currentSize++;
-		} else {
-			valueToReturn = node.getElement().getValue();
-			node.setElement(new EntryClass<>(key, value));
-		}
-
-		if (newNode != null)
-			rebalance(newNode);
-		return valueToReturn;
+	BSTNode<Entry<K,V>> insertLeaf(BSTNode<Entry<K,V>> parent, K key, V value) {
+		BSTNode<Entry<K,V>> newNode = super.insertLeaf(parent, key, value);
+		rebalance((AVLNode<Entry<K,V>>) newNode);
+		return newNode;
 	}
 
 	@Override
-	public V remove(K key) {
-		V valueToReturn = null;
-		AVLNode<Entry<K,V>> node = null;
-		AVLNode<Entry<K,V>> oldNode = (AVLNode<Entry<K,V>>) super.findNode(key);
-		if ( oldNode == null || oldNode.getElement().getKey().compareTo(key) != 0 )
-			return null;
-		else
-		{
-			valueToReturn = oldNode.getElement().getValue();
-
-			if ( oldNode.getLeft() == null )
-				// The left subtree is empty.
-				this.linkSubtreeRemove(oldNode.getRight(), oldNode.getParent(),oldNode);
-			else if ( oldNode.getRight() == null )
-				// The right subtree is empty.
-				this.linkSubtreeRemove(oldNode.getLeft(), oldNode.getParent(),oldNode);
-			else
-			{
-				// Node has 2 children. Replace the node's entry with
-				// the 'minEntry' of the right subtree.
-				BSTNode<Entry<K,V>> minNode = this.minNode(oldNode.getRight());
-				oldNode.setElement( minNode.getElement() );
-				// Remove the 'minEntry' of the right subtree.
-				this.linkSubtreeRemove(minNode.getRight(), minNode.getParent(),minNode);
-			}
-
-			if (oldNode.getParent() != null) {
-				node = (AVLNode<Entry<K, V>>) oldNode.getParent();
-			} else {
-				node = (AVLNode<Entry<K, V>>) root;
-			}
-
-			currentSize--;
-		}
-		if (node != null) {
-			rebalance(node);
-		}
-		return valueToReturn;
+	BSTNode<Entry<K,V>> removeNode(BSTNode<Entry<K,V>> node) {
+		// O reequilíbrio começa no pai do nó que saiu da árvore.
+		BSTNode<Entry<K,V>> parent = super.removeNode(node);
+		if (parent != null)
+			rebalance((AVLNode<Entry<K,V>>) parent);
+		return parent;
 	}
 /*
 	@Serial
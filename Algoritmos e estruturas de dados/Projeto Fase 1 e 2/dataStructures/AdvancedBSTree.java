@@ -2,6 +2,7 @@ package dataStructures;
 
 /**
  * Advanced BSTree Data Type implementation
+ * When DictionaryStats.ENABLED, the rotations are counted.
  * @author AED team
  * @version 1.0
  * @param <K> Generic type Key, must extend comparable
@@ -21,6 +22,8 @@ public abstract class AdvancedBSTree<K extends Comparable<K>, V> extends BinaryS
      */
     protected void rotateLeft( BSTNode<Entry<K,V>> Y)
     {
+        if ( DictionaryStats.ENABLED )
+            this.stats().recordRotation();
         // X é o filho direito de Y
     	BSTNode<Entry<K, V>> X = Y.getRight();
 
@@ -42,6 +45,8 @@ public abstract class AdvancedBSTree<K extends Comparable<K>, V> extends BinaryS
 
         X.setLeft(Y);
         Y.setParent(X);
+        Y.setSize();
+        X.setSize();
     }
 
 
@@ -54,6 +59,8 @@ public abstract class AdvancedBSTree<K extends Comparable<K>, V> extends BinaryS
      */
     protected void rotateRight( BSTNode<Entry<K,V>> Y)
     {
+        if ( DictionaryStats.ENABLED )
+            this.stats().recordRotation();
         //X é filho esquerdo
     	BSTNode<Entry<K, V>> X = Y.getLeft();
         // Y seta o seu filho esquerdo como filho direito do X
@@ -81,6 +88,9 @@ public abstract class AdvancedBSTree<K extends Comparable<K>, V> extends BinaryS
         X.setRight(Y);
         //X é o pai de Y
         Y.setParent(X);
+        // Só as subárvores de Y e de X mudaram de tamanho
+        Y.setSize();
+        X.setSize();
     }
 
     /**
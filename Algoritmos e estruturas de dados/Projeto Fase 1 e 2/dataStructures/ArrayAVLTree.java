@@ -0,0 +1,646 @@
+package dataStructures;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+
+/**
+ * AVL tree implementation whose nodes are kept in parallel arrays.
+ * A node is an index: its key and value are stored at that index of the
+ * keys and values arrays, and its children, parent and height in the
+ * links array, so the tree needs no node or entry objects.
+ * Freed indices are kept in a free list, linked through the right child
+ * link, and reused by later insertions. When the arrays grow, the nodes
+ * are moved so that their indices follow the key order, which keeps
+ * in order traversals reading the arrays sequentially.
+ *
+ * @author AED team
+ * @version 1.0
+ *
+ * @param <K> Generic type Key, must extend comparable
+ * @param <V> Generic type Value
+ */
+public class ArrayAVLTree<K extends Comparable<K>, V> implements OrderedDictionary<K,V> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Index denoting the absence of a node.
+     */
+    static final int NIL = -1;
+
+    /**
+     * Default number of nodes.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    transient K[] keys;
+
+    transient V[] values;
+
+    /**
+     * Links of each node, interleaved so that the links of a node share a
+     * cache line: left child, right child, parent, height (a leaf has
+     * height 1) and subtree size of node n are at indices 5n to 5n+4.
+     */
+    transient int[] links;
+
+    static final int LEFT = 0, RIGHT = 1, PARENT = 2, HEIGHT = 3, SIZE = 4, LINKS = 5;
+
+    /**
+     * Index of the root (NIL if the tree is empty).
+     */
+    transient int root;
+
+    /**
+     * First index of the free list (NIL if the list is empty).
+     */
+    transient int free;
+
+    /**
+     * Number of indices ever used; indices from here on were never used.
+     */
+    transient int used;
+
+    /**
+     * Number of entries in the tree.
+     */
+    transient int currentSize;
+
+    public ArrayAVLTree(int capacity) {
+        this.allocate(Math.max(capacity, 1));
+    }
+
+    public ArrayAVLTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Allocates empty arrays with the specified number of nodes.
+     * @param capacity number of nodes
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void allocate(int capacity) {
+        keys = (K[]) new Comparable[capacity];
+        values = (V[]) new Object[capacity];
+        links = new int[LINKS * capacity];
+        root = NIL;
+        free = NIL;
+        used = 0;
+        currentSize = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    @Override
+    public int size() {
+        return currentSize;
+    }
+
+    @Override
+    public V find(K key) {
+        int node = this.findNode(key);
+        return node == NIL ? null : values[node];
+    }
+
+    @Override
+    public Entry<K,V> minEntry() throws EmptyDictionaryException {
+        if (this.isEmpty())
+            throw new EmptyDictionaryException();
+        int node = this.minNode(root);
+        return new EntryClass<>(keys[node], values[node]);
+    }
+
+    @Override
+    public Entry<K,V> maxEntry() throws EmptyDictionaryException {
+        if (this.isEmpty())
+            throw new EmptyDictionaryException();
+        int node = this.maxNode(root);
+        return new EntryClass<>(keys[node], values[node]);
+    }
+
+    @Override
+    public V insert(K key, V value) {
+        // Growing moves the nodes, so it is done before the search.
+        if (free == NIL && used == keys.length)
+            this.relocate(2 * keys.length);
+        if (root == NIL) {
+            root = this.newNode(key, value, NIL);
+            currentSize++;
+            return null;
+        }
+        int node = root;
+        int compResult;
+        while (true) {
+            compResult = key.compareTo(keys[node]);
+            if (compResult == 0) {
+                V oldValue = values[node];
+                values[node] = value;
+                return oldValue;
+            }
+            int child = compResult < 0 ? left(node) : right(node);
+            if (child == NIL)
+                break;
+            node = child;
+        }
+        int newNode = this.newNode(key, value, node);
+        if (compResult < 0)
+            setLeft(node, newNode);
+        else
+            setRight(node, newNode);
+        currentSize++;
+        this.rebalance(node);
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        int node = this.findNode(key);
+        if (node == NIL)
+            return null;
+        V value = values[node];
+        this.removeNode(node);
+        return value;
+    }
+
+    /**
+     * Removes the entry with the specified key, if it is associated with the specified value.
+     * @param key whose entry is to be removed
+     * @param value expected value of the entry
+     * @return value of the removed entry, or null if no entry was removed
+     */
+    @Override
+    public V remove(K key, V value) {
+        int node = this.findNode(key);
+        if (node == NIL || !values[node].equals(value))
+            return null;
+        V oldValue = values[node];
+        this.removeNode(node);
+        return oldValue;
+    }
+
+    @Override
+    public Entry<K,V> floorEntry(K key) {
+        return this.entryOf(this.floorNode(key, true));
+    }
+
+    @Override
+    public Entry<K,V> ceilingEntry(K key) {
+        return this.entryOf(this.ceilingNode(key, true));
+    }
+
+    @Override
+    public Entry<K,V> higherEntry(K key) {
+        return this.entryOf(this.ceilingNode(key, false));
+    }
+
+    @Override
+    public Entry<K,V> lowerEntry(K key) {
+        return this.entryOf(this.floorNode(key, false));
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return this.iterator(null, null);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator(K from, K to) {
+        return this.rangeIterator(from, to, false);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> descendingIterator(K from, K to) {
+        return this.rangeIterator(from, to, true);
+    }
+
+    @Override
+    public int rank(K key) {
+        int rank = 0;
+        int node = root;
+        while (node != NIL) {
+            if (key.compareTo(keys[node]) > 0) {
+                rank += this.size(left(node)) + 1;
+                node = right(node);
+            } else
+                node = left(node);
+        }
+        return rank;
+    }
+
+    @Override
+    public Entry<K,V> select(int position) throws InvalidPositionException {
+        int node = this.selectNode(position);
+        return new EntryClass<>(keys[node], values[node]);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator(int fromIndex) throws InvalidPositionException {
+        if (fromIndex == currentSize && fromIndex >= 0)
+            return new ArrayAVLTreeIterator<>(this, NIL, NIL, false);
+        return new ArrayAVLTreeIterator<>(this, this.selectNode(fromIndex), this.maxNode(root), false);
+    }
+
+    /**
+     * Returns the node at the specified position in key order.
+     * @param position of the node
+     * @return node at that position
+     * @throws InvalidPositionException if position is not between 0 and size()-1
+     */
+    private int selectNode(int position) throws InvalidPositionException {
+        if (position < 0 || position >= currentSize)
+            throw new InvalidPositionException();
+        int node = root;
+        while (true) {
+            int leftSize = this.size(left(node));
+            if (position < leftSize)
+                node = left(node);
+            else if (position == leftSize)
+                return node;
+            else {
+                position -= leftSize + 1;
+                node = right(node);
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator of the entries whose keys are between from and to, both inclusive.
+     * @param from smallest key of the range, or null
+     * @param to largest key of the range, or null
+     * @param descending true to iterate from the largest key down
+     * @return iterator of the entries in the range
+     */
+    private Iterator<Entry<K,V>> rangeIterator(K from, K to, boolean descending) {
+        int first = NIL;
+        int last = NIL;
+        if (root != NIL) {
+            first = from == null ? this.minNode(root) : this.ceilingNode(from, true);
+            last = to == null ? this.maxNode(root) : this.floorNode(to, true);
+            if (first == NIL || last == NIL || keys[first].compareTo(keys[last]) > 0)
+                first = last = NIL;
+        }
+        return new ArrayAVLTreeIterator<>(this, first, last, descending);
+    }
+
+    private Entry<K,V> entryOf(int node) {
+        return node == NIL ? null : new EntryClass<>(keys[node], values[node]);
+    }
+
+    /**
+     * Returns the node with the largest key less than the specified key
+     * (or equal to it, if inclusive); or NIL if there is none.
+     * @param key to be searched
+     * @param inclusive true if the node of the key may be returned
+     * @return see above
+     */
+    int floorNode(K key, boolean inclusive) {
+        int node = root;
+        int candidate = NIL;
+        while (node != NIL) {
+            int compResult = key.compareTo(keys[node]);
+            if (compResult > 0 || (compResult == 0 && inclusive)) {
+                candidate = node;
+                node = right(node);
+            } else
+                node = left(node);
+        }
+        return candidate;
+    }
+
+    /**
+     * Returns the node with the smallest key greater than the specified key
+     * (or equal to it, if inclusive); or NIL if there is none.
+     * @param key to be searched
+     * @param inclusive true if the node of the key may be returned
+     * @return see above
+     */
+    int ceilingNode(K key, boolean inclusive) {
+        int node = root;
+        int candidate = NIL;
+        while (node != NIL) {
+            int compResult = key.compareTo(keys[node]);
+            if (compResult < 0 || (compResult == 0 && inclusive)) {
+                candidate = node;
+                node = left(node);
+            } else
+                node = right(node);
+        }
+        return candidate;
+    }
+
+    /**
+     * Moves the nodes so that their indices follow the key order, without
+     * changing the shape of the tree, and empties the free list.
+     * An in order traversal of a compacted tree reads the arrays sequentially.
+     */
+    public void compact() {
+        this.relocate(Math.max(currentSize, 1));
+    }
+
+    /**
+     * Moves the nodes to new arrays with the specified number of nodes,
+     * so that their indices follow the key order.
+     * @param capacity number of nodes of the new arrays (not less than size)
+     */
+    private void relocate(int capacity) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        K[] newKeys = (K[]) new Comparable[capacity];
+        @SuppressWarnings("unchecked")
+        V[] newValues = (V[]) new Object[capacity];
+        int[] newLinks = new int[LINKS * capacity];
+        int[] index = new int[used];
+        int i = 0;
+        for (int node = root == NIL ? NIL : this.minNode(root); node != NIL; node = this.successor(node))
+            index[node] = i++;
+        for (int node = root == NIL ? NIL : this.minNode(root); node != NIL; node = this.successor(node)) {
+            int n = index[node];
+            newKeys[n] = keys[node];
+            newValues[n] = values[node];
+            newLinks[LINKS * n + LEFT] = left(node) == NIL ? NIL : index[left(node)];
+            newLinks[LINKS * n + RIGHT] = right(node) == NIL ? NIL : index[right(node)];
+            newLinks[LINKS * n + PARENT] = parent(node) == NIL ? NIL : index[parent(node)];
+            newLinks[LINKS * n + HEIGHT] = links[LINKS * node + HEIGHT];
+            newLinks[LINKS * n + SIZE] = links[LINKS * node + SIZE];
+        }
+        if (root != NIL)
+            root = index[root];
+        keys = newKeys;
+        values = newValues;
+        links = newLinks;
+        free = NIL;
+        used = currentSize;
+    }
+
+    /**
+     * Returns the node whose key is the specified key, or NIL.
+     * @param key to be searched
+     * @return node of the key, or NIL
+     */
+    int findNode(K key) {
+        int node = root;
+        while (node != NIL) {
+            int compResult = key.compareTo(keys[node]);
+            if (compResult == 0)
+                return node;
+            node = compResult < 0 ? left(node) : right(node);
+        }
+        return NIL;
+    }
+
+    /**
+     * Returns the node with the smallest key in the subtree rooted at the specified node.
+     * Requires: node != NIL.
+     * @param node that roots the subtree
+     * @return node with the smallest key
+     */
+    int minNode(int node) {
+        while (left(node) != NIL)
+            node = left(node);
+        return node;
+    }
+
+    /**
+     * Returns the node with the largest key in the subtree rooted at the specified node.
+     * Requires: node != NIL.
+     * @param node that roots the subtree
+     * @return node with the largest key
+     */
+    int maxNode(int node) {
+        while (right(node) != NIL)
+            node = right(node);
+        return node;
+    }
+
+    /**
+     * Returns the node that precedes the specified node in key order, or NIL.
+     * @param node of the tree
+     * @return previous node in key order, or NIL
+     */
+    int predecessor(int node) {
+        if (left(node) != NIL)
+            return this.maxNode(left(node));
+        int p = parent(node);
+        while (p != NIL && node == left(p)) {
+            node = p;
+            p = parent(p);
+        }
+        return p;
+    }
+
+    /**
+     * Returns the node that follows the specified node in key order, or NIL.
+     * @param node of the tree
+     * @return next node in key order, or NIL
+     */
+    int successor(int node) {
+        if (right(node) != NIL)
+            return this.minNode(right(node));
+        int p = parent(node);
+        while (p != NIL && node == right(p)) {
+            node = p;
+            p = parent(p);
+        }
+        return p;
+    }
+
+    /**
+     * Takes an index from the free list (or a never used one) and fills it as a leaf.
+     * Requires: the arrays are not full.
+     * @param key key of the entry
+     * @param value value of the entry
+     * @param p parent of the new node
+     * @return index of the new node
+     */
+    private int newNode(K key, V value, int p) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = right(node);
+        } else
+            node = used++;
+        keys[node] = key;
+        values[node] = value;
+        setLeft(node, NIL);
+        setRight(node, NIL);
+        setParent(node, p);
+        links[LINKS * node + HEIGHT] = 1;
+        links[LINKS * node + SIZE] = 1;
+        return node;
+    }
+
+    /**
+     * Clears the specified node and puts it in the free list.
+     * @param node to be released
+     */
+    private void release(int node) {
+        keys[node] = null;
+        values[node] = null;
+        setRight(node, free);
+        free = node;
+    }
+
+    /**
+     * Removes the specified node from the tree and rebalances it.
+     * A node with two children takes the entry of its successor,
+     * which is removed instead.
+     * @param node to be removed
+     */
+    private void removeNode(int node) {
+        if (left(node) != NIL && right(node) != NIL) {
+            int min = this.minNode(right(node));
+            keys[node] = keys[min];
+            values[node] = values[min];
+            node = min;
+        }
+        int child = left(node) != NIL ? left(node) : right(node);
+        int p = parent(node);
+        if (child != NIL)
+            setParent(child, p);
+        this.replaceChild(p, node, child);
+        this.release(node);
+        currentSize--;
+        this.rebalance(p);
+    }
+
+    /**
+     * Makes newChild take the place of oldChild under the specified parent.
+     * @param p parent of oldChild (NIL if oldChild is the root)
+     * @param oldChild current child
+     * @param newChild replacing child
+     */
+    private void replaceChild(int p, int oldChild, int newChild) {
+        if (p == NIL)
+            root = newChild;
+        else if (left(p) == oldChild)
+            setLeft(p, newChild);
+        else
+            setRight(p, newChild);
+    }
+
+    int left(int node) {
+        return links[LINKS * node + LEFT];
+    }
+
+    int right(int node) {
+        return links[LINKS * node + RIGHT];
+    }
+
+    int parent(int node) {
+        return links[LINKS * node + PARENT];
+    }
+
+    private void setLeft(int node, int child) {
+        links[LINKS * node + LEFT] = child;
+    }
+
+    private void setRight(int node, int child) {
+        links[LINKS * node + RIGHT] = child;
+    }
+
+    private void setParent(int node, int p) {
+        links[LINKS * node + PARENT] = p;
+    }
+
+    private int height(int node) {
+        return node == NIL ? 0 : links[LINKS * node + HEIGHT];
+    }
+
+    private int size(int node) {
+        return node == NIL ? 0 : links[LINKS * node + SIZE];
+    }
+
+    /**
+     * Recomputes the height and the subtree size of the specified node from its children.
+     * @param node to be updated
+     */
+    private void update(int node) {
+        links[LINKS * node + HEIGHT] = 1 + Math.max(this.height(left(node)), this.height(right(node)));
+        links[LINKS * node + SIZE] = 1 + this.size(left(node)) + this.size(right(node));
+    }
+
+    /**
+     * Rotates the specified node down to the left.
+     * @param x node whose right child takes its place
+     * @return the node that took the place of x
+     */
+    private int rotateLeft(int x) {
+        int y = right(x);
+        setRight(x, left(y));
+        if (left(y) != NIL)
+            setParent(left(y), x);
+        setParent(y, parent(x));
+        this.replaceChild(parent(x), x, y);
+        setLeft(y, x);
+        setParent(x, y);
+        this.update(x);
+        this.update(y);
+        return y;
+    }
+
+    /**
+     * Rotates the specified node down to the right.
+     * @param x node whose left child takes its place
+     * @return the node that took the place of x
+     */
+    private int rotateRight(int x) {
+        int y = left(x);
+        setLeft(x, right(y));
+        if (right(y) != NIL)
+            setParent(right(y), x);
+        setParent(y, parent(x));
+        this.replaceChild(parent(x), x, y);
+        setRight(y, x);
+        setParent(x, y);
+        this.update(x);
+        this.update(y);
+        return y;
+    }
+
+    /**
+     * Traverses the path from the specified node to the root, recomputing
+     * the heights and sizes and applying a single or double rotation where a node is unbalanced.
+     * @param node first node of the path (may be NIL)
+     */
+    private void rebalance(int node) {
+        while (node != NIL) {
+            this.update(node);
+            int balance = this.height(left(node)) - this.height(right(node));
+            if (balance > 1) {
+                if (this.height(left(left(node))) < this.height(right(left(node))))
+                    this.rotateLeft(left(node));
+                node = this.rotateRight(node);
+            } else if (balance < -1) {
+                if (this.height(right(right(node))) < this.height(left(right(node))))
+                    this.rotateRight(right(node));
+                node = this.rotateLeft(node);
+            }
+            node = parent(node);
+        }
+    }
+
+    // Only the entries are stored, in key order; the arrays are rebuilt on load.
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(currentSize);
+        for (int node = root == NIL ? NIL : this.minNode(root); node != NIL; node = this.successor(node)) {
+            out.writeObject(keys[node]);
+            out.writeObject(values[node]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int size = in.readInt();
+        this.allocate(Math.max(size, 1));
+        for (int i = 0; i < size; i++)
+            this.insert((K) in.readObject(), (V) in.readObject());
+    }
+}
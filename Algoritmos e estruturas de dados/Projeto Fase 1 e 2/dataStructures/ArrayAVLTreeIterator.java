@@ -0,0 +1,70 @@
+package dataStructures;
+
+/**
+ * Iterator of the entries of a range of an array backed AVL tree,
+ * in increasing or decreasing key order.
+ * Moves from node to node through the parent indices, so it needs no stack.
+ * @author AED team
+ * @version 1.0
+ * @param <K> Generic type Key, must extend comparable
+ * @param <V> Generic type Value
+ */
+class ArrayAVLTreeIterator<K extends Comparable<K>, V> implements Iterator<Entry<K,V>> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * The tree being iterated.
+     */
+    private ArrayAVLTree<K,V> tree;
+
+    /**
+     * Node with the smallest key of the range (NIL if the range is empty).
+     */
+    private int first;
+
+    /**
+     * Node with the largest key of the range (NIL if the range is empty).
+     */
+    private int last;
+
+    /**
+     * True if the iteration goes from last down to first.
+     */
+    private boolean descending;
+
+    /**
+     * Node with the next entry to be returned (NIL if there is none).
+     */
+    private int nextNode;
+
+    public ArrayAVLTreeIterator(ArrayAVLTree<K,V> tree, int first, int last, boolean descending) {
+        this.tree = tree;
+        this.first = first;
+        this.last = last;
+        this.descending = descending;
+        rewind();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextNode != ArrayAVLTree.NIL;
+    }
+
+    @Override
+    public Entry<K,V> next() throws NoSuchElementException {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        int node = nextNode;
+        if (descending)
+            nextNode = node == first ? ArrayAVLTree.NIL : tree.predecessor(node);
+        else
+            nextNode = node == last ? ArrayAVLTree.NIL : tree.successor(node);
+        return new EntryClass<>(tree.keys[node], tree.values[node]);
+    }
+
+    @Override
+    public void rewind() {
+        nextNode = descending ? last : first;
+    }
+}
@@ -0,0 +1,709 @@
+package dataStructures;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+
+/**
+ * B+tree implementation
+ * Every entry is kept in a leaf, and the leaves are linked in key order,
+ * so an ordered traversal reads the keys and values of each leaf from
+ * contiguous arrays. Internal nodes only hold the keys that guide the search.
+ * Each node holds at most <code>order</code> keys.
+ *
+ * @author AED team
+ * @version 1.0
+ *
+ * @param <K> Generic type Key, must extend comparable
+ * @param <V> Generic type Value
+ */
+public class BPlusTree<K extends Comparable<K>, V> implements OrderedDictionary<K,V> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Default maximum number of keys of a node.
+     */
+    public static final int DEFAULT_ORDER = 32;
+
+    /**
+     * Smallest order allowed.
+     */
+    public static final int MIN_ORDER = 4;
+
+    /**
+     * Node of the tree: its first <code>size</code> keys are in use.
+     */
+    abstract static class Node<K,V> {
+
+        K[] keys;
+
+        int size;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(int order) {
+            keys = (K[]) new Comparable[order + 1];
+        }
+    }
+
+    /**
+     * Leaf: holds the value of each key, and the neighbouring leaves.
+     */
+    static final class Leaf<K,V> extends Node<K,V> {
+
+        V[] values;
+
+        Leaf<K,V> next;
+
+        Leaf<K,V> previous;
+
+        @SuppressWarnings("unchecked")
+        Leaf(int order) {
+            super(order);
+            values = (V[]) new Object[order + 1];
+        }
+    }
+
+    /**
+     * Internal node: keys[i] is the smallest key of the subtree children[i+1],
+     * which holds counts[i+1] entries.
+     */
+    static final class Inner<K,V> extends Node<K,V> {
+
+        Node<K,V>[] children;
+
+        int[] counts;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Inner(int order) {
+            super(order);
+            children = (Node<K,V>[]) new Node[order + 2];
+            counts = new int[order + 2];
+        }
+    }
+
+    /**
+     * Position of an entry: a leaf and an index in that leaf.
+     */
+    static final class Position<K,V> {
+
+        final Leaf<K,V> leaf;
+
+        final int index;
+
+        Position(Leaf<K,V> leaf, int index) {
+            this.leaf = leaf;
+            this.index = index;
+        }
+
+        Entry<K,V> entry() {
+            return new EntryClass<>(leaf.keys[index], leaf.values[index]);
+        }
+    }
+
+    /**
+     * Maximum number of keys of a node.
+     */
+    protected int order;
+
+    protected transient Node<K,V> root;
+
+    /**
+     * Leaf with the smallest keys.
+     */
+    protected transient Leaf<K,V> firstLeaf;
+
+    protected transient int currentSize;
+
+    /**
+     * Separator key of the node created by the last split.
+     */
+    private transient K splitKey;
+
+    /**
+     * Value replaced or removed by the last insert or remove.
+     */
+    private transient V oldValue;
+
+    public BPlusTree(int order) {
+        if (order < MIN_ORDER)
+            throw new IllegalArgumentException("order < " + MIN_ORDER);
+        this.order = order;
+        this.clear();
+    }
+
+    public BPlusTree() {
+        this(DEFAULT_ORDER);
+    }
+
+    /**
+     * Leaves the tree with a single empty leaf.
+     */
+    private void clear() {
+        firstLeaf = new Leaf<>(order);
+        root = firstLeaf;
+        currentSize = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    @Override
+    public int size() {
+        return currentSize;
+    }
+
+    /**
+     * Returns the position of the specified key among the keys of the node,
+     * or -(insertion point) - 1 if the node does not have it.
+     * @param node to be searched
+     * @param key to be searched
+     * @return position of the key, or the encoded insertion point
+     */
+    private int search(Node<K,V> node, K key) {
+        int low = 0;
+        int high = node.size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compResult = key.compareTo(node.keys[mid]);
+            if (compResult == 0)
+                return mid;
+            else if (compResult < 0)
+                high = mid - 1;
+            else
+                low = mid + 1;
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the position of the child of an internal node whose subtree holds the specified key.
+     * @param node internal node
+     * @param key to be searched
+     * @return position of the child
+     */
+    private int childIndex(Inner<K,V> node, K key) {
+        int pos = this.search(node, key);
+        return pos >= 0 ? pos + 1 : -pos - 1;
+    }
+
+    /**
+     * Returns the leaf where the specified key is (or would be) stored.
+     * @param key to be searched
+     * @return leaf of the key
+     */
+    Leaf<K,V> findLeaf(K key) {
+        Node<K,V> node = root;
+        while (node instanceof Inner<K,V> inner)
+            node = inner.children[this.childIndex(inner, key)];
+        return (Leaf<K,V>) node;
+    }
+
+    @Override
+    public V find(K key) {
+        Leaf<K,V> leaf = this.findLeaf(key);
+        int pos = this.search(leaf, key);
+        return pos >= 0 ? leaf.values[pos] : null;
+    }
+
+    @Override
+    public Entry<K,V> minEntry() throws EmptyDictionaryException {
+        if (this.isEmpty())
+            throw new EmptyDictionaryException();
+        return new EntryClass<>(firstLeaf.keys[0], firstLeaf.values[0]);
+    }
+
+    @Override
+    public Entry<K,V> maxEntry() throws EmptyDictionaryException {
+        if (this.isEmpty())
+            throw new EmptyDictionaryException();
+        return this.last().entry();
+    }
+
+    @Override
+    public V insert(K key, V value) {
+        oldValue = null;
+        Node<K,V> sibling = this.insert(root, key, value);
+        if (sibling != null) {
+            Inner<K,V> newRoot = new Inner<>(order);
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.counts[0] = count(root);
+            newRoot.counts[1] = count(sibling);
+            newRoot.size = 1;
+            root = newRoot;
+        }
+        splitKey = null;
+        V result = oldValue;
+        oldValue = null;
+        return result;
+    }
+
+    /**
+     * Inserts the entry in the subtree rooted at the specified node.
+     * @param node root of the subtree
+     * @param key key of the entry
+     * @param value value of the entry
+     * @return new right sibling of node if node was split (its separator is left in splitKey), or null
+     */
+    private Node<K,V> insert(Node<K,V> node, K key, V value) {
+        if (node instanceof Leaf<K,V> leaf)
+            return this.insertInLeaf(leaf, key, value);
+        Inner<K,V> inner = (Inner<K,V>) node;
+        int index = this.childIndex(inner, key);
+        int sizeBefore = currentSize;
+        Node<K,V> sibling = this.insert(inner.children[index], key, value);
+        if (sibling == null) {
+            inner.counts[index] += currentSize - sizeBefore;
+            return null;
+        }
+        System.arraycopy(inner.keys, index, inner.keys, index + 1, inner.size - index);
+        System.arraycopy(inner.children, index + 1, inner.children, index + 2, inner.size - index);
+        System.arraycopy(inner.counts, index + 1, inner.counts, index + 2, inner.size - index);
+        inner.keys[index] = splitKey;
+        inner.children[index + 1] = sibling;
+        inner.counts[index] = count(inner.children[index]);
+        inner.counts[index + 1] = count(sibling);
+        inner.size++;
+        return inner.size > order ? this.splitInner(inner) : null;
+    }
+
+    private Node<K,V> insertInLeaf(Leaf<K,V> leaf, K key, V value) {
+        int pos = this.search(leaf, key);
+        if (pos >= 0) {
+            oldValue = leaf.values[pos];
+            leaf.values[pos] = value;
+            return null;
+        }
+        pos = -pos - 1;
+        System.arraycopy(leaf.keys, pos, leaf.keys, pos + 1, leaf.size - pos);
+        System.arraycopy(leaf.values, pos, leaf.values, pos + 1, leaf.size - pos);
+        leaf.keys[pos] = key;
+        leaf.values[pos] = value;
+        leaf.size++;
+        currentSize++;
+        if (leaf.size <= order)
+            return null;
+        // Keys appended after the largest one fill the leaves completely;
+        // any other insertion splits the leaf in half.
+        boolean appended = pos == order && leaf.next == null;
+        return this.splitLeaf(leaf, appended ? order : leaf.size / 2);
+    }
+
+    /**
+     * Returns the number of entries of the subtree rooted at the specified node.
+     * @param node root of the subtree
+     * @return number of entries of the subtree
+     */
+    private static <K,V> int count(Node<K,V> node) {
+        if (node instanceof Leaf<K,V>)
+            return node.size;
+        Inner<K,V> inner = (Inner<K,V>) node;
+        int count = 0;
+        for (int i = 0; i <= inner.size; i++)
+            count += inner.counts[i];
+        return count;
+    }
+
+    /**
+     * Moves the keys of the leaf from the specified position on to a new right sibling.
+     * @param leaf overflowing leaf
+     * @param from position of the first key to be moved
+     * @return the new leaf
+     */
+    private Leaf<K,V> splitLeaf(Leaf<K,V> leaf, int from) {
+        Leaf<K,V> sibling = new Leaf<>(order);
+        sibling.size = leaf.size - from;
+        System.arraycopy(leaf.keys, from, sibling.keys, 0, sibling.size);
+        System.arraycopy(leaf.values, from, sibling.values, 0, sibling.size);
+        for (int i = from; i < leaf.size; i++) {
+            leaf.keys[i] = null;
+            leaf.values[i] = null;
+        }
+        leaf.size = from;
+        sibling.next = leaf.next;
+        if (sibling.next != null)
+            sibling.next.previous = sibling;
+        sibling.previous = leaf;
+        leaf.next = sibling;
+        splitKey = sibling.keys[0];
+        return sibling;
+    }
+
+    /**
+     * Moves the upper half of an overflowing internal node to a new right sibling;
+     * the middle key goes up to the parent, through splitKey.
+     * @param inner overflowing internal node
+     * @return the new node
+     */
+    private Inner<K,V> splitInner(Inner<K,V> inner) {
+        int mid = inner.size / 2;
+        Inner<K,V> sibling = new Inner<>(order);
+        sibling.size = inner.size - mid - 1;
+        System.arraycopy(inner.keys, mid + 1, sibling.keys, 0, sibling.size);
+        System.arraycopy(inner.children, mid + 1, sibling.children, 0, sibling.size + 1);
+        System.arraycopy(inner.counts, mid + 1, sibling.counts, 0, sibling.size + 1);
+        splitKey = inner.keys[mid];
+        for (int i = mid; i < inner.size; i++) {
+            inner.keys[i] = null;
+            inner.children[i + 1] = null;
+            inner.counts[i + 1] = 0;
+        }
+        inner.size = mid;
+        return sibling;
+    }
+
+    @Override
+    public V remove(K key) {
+        oldValue = null;
+        this.remove(root, key);
+        if (root instanceof Inner<K,V> inner && inner.size == 0)
+            root = inner.children[0];
+        V result = oldValue;
+        oldValue = null;
+        return result;
+    }
+
+    /**
+     * Removes the entry with the specified key, if it is associated with the specified value.
+     * @param key whose entry is to be removed
+     * @param value expected value of the entry
+     * @return value of the removed entry, or null if no entry was removed
+     */
+    @Override
+    public V remove(K key, V value) {
+        V current = this.find(key);
+        if (current == null || !current.equals(value))
+            return null;
+        return this.remove(key);
+    }
+
+    /**
+     * Removes the entry with the specified key from the subtree rooted at the specified node,
+     * leaving its value in oldValue.
+     * @param node root of the subtree
+     * @param key whose entry is to be removed
+     */
+    private void remove(Node<K,V> node, K key) {
+        if (node instanceof Leaf<K,V> leaf) {
+            int pos = this.search(leaf, key);
+            if (pos < 0)
+                return;
+            oldValue = leaf.values[pos];
+            System.arraycopy(leaf.keys, pos + 1, leaf.keys, pos, leaf.size - pos - 1);
+            System.arraycopy(leaf.values, pos + 1, leaf.values, pos, leaf.size - pos - 1);
+            leaf.size--;
+            leaf.keys[leaf.size] = null;
+            leaf.values[leaf.size] = null;
+            currentSize--;
+            return;
+        }
+        Inner<K,V> inner = (Inner<K,V>) node;
+        int index = this.childIndex(inner, key);
+        Node<K,V> child = inner.children[index];
+        this.remove(child, key);
+        if (oldValue == null)
+            return;
+        inner.counts[index]--;
+        if (child.size < order / 2)
+            this.fixUnderflow(inner, index);
+    }
+
+    /**
+     * Restores the minimum number of keys of a child, either borrowing a key
+     * from a sibling or merging it with a sibling.
+     * @param parent parent of the child
+     * @param index position of the child in the parent
+     */
+    private void fixUnderflow(Inner<K,V> parent, int index) {
+        int min = order / 2;
+        if (index > 0 && parent.children[index - 1].size > min)
+            this.borrowFromLeft(parent, index);
+        else if (index < parent.size && parent.children[index + 1].size > min)
+            this.borrowFromRight(parent, index);
+        else if (index > 0)
+            this.merge(parent, index - 1);
+        else
+            this.merge(parent, index);
+    }
+
+    private void borrowFromLeft(Inner<K,V> parent, int index) {
+        Node<K,V> child = parent.children[index];
+        Node<K,V> left = parent.children[index - 1];
+        System.arraycopy(child.keys, 0, child.keys, 1, child.size);
+        if (child instanceof Leaf<K,V> leaf) {
+            Leaf<K,V> leftLeaf = (Leaf<K,V>) left;
+            System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.size);
+            leaf.keys[0] = leftLeaf.keys[leftLeaf.size - 1];
+            leaf.values[0] = leftLeaf.values[leftLeaf.size - 1];
+            leftLeaf.values[leftLeaf.size - 1] = null;
+            parent.keys[index - 1] = leaf.keys[0];
+        } else {
+            Inner<K,V> innerChild = (Inner<K,V>) child;
+            Inner<K,V> leftInner = (Inner<K,V>) left;
+            System.arraycopy(innerChild.children, 0, innerChild.children, 1, innerChild.size + 1);
+            System.arraycopy(innerChild.counts, 0, innerChild.counts, 1, innerChild.size + 1);
+            innerChild.keys[0] = parent.keys[index - 1];
+            innerChild.children[0] = leftInner.children[leftInner.size];
+            innerChild.counts[0] = leftInner.counts[leftInner.size];
+            leftInner.children[leftInner.size] = null;
+            leftInner.counts[leftInner.size] = 0;
+            parent.keys[index - 1] = leftInner.keys[leftInner.size - 1];
+        }
+        left.keys[left.size - 1] = null;
+        left.size--;
+        child.size++;
+        parent.counts[index - 1] = count(left);
+        parent.counts[index] = count(child);
+    }
+
+    private void borrowFromRight(Inner<K,V> parent, int index) {
+        Node<K,V> child = parent.children[index];
+        Node<K,V> right = parent.children[index + 1];
+        if (child instanceof Leaf<K,V> leaf) {
+            Leaf<K,V> rightLeaf = (Leaf<K,V>) right;
+            leaf.keys[leaf.size] = rightLeaf.keys[0];
+            leaf.values[leaf.size] = rightLeaf.values[0];
+            System.arraycopy(rightLeaf.values, 1, rightLeaf.values, 0, rightLeaf.size - 1);
+            rightLeaf.values[rightLeaf.size - 1] = null;
+            System.arraycopy(rightLeaf.keys, 1, rightLeaf.keys, 0, rightLeaf.size - 1);
+            parent.keys[index] = rightLeaf.keys[0];
+        } else {
+            Inner<K,V> innerChild = (Inner<K,V>) child;
+            Inner<K,V> rightInner = (Inner<K,V>) right;
+            innerChild.keys[innerChild.size] = parent.keys[index];
+            innerChild.children[innerChild.size + 1] = rightInner.children[0];
+            innerChild.counts[innerChild.size + 1] = rightInner.counts[0];
+            parent.keys[index] = rightInner.keys[0];
+            System.arraycopy(rightInner.keys, 1, rightInner.keys, 0, rightInner.size - 1);
+            System.arraycopy(rightInner.children, 1, rightInner.children, 0, rightInner.size);
+            System.arraycopy(rightInner.counts, 1, rightInner.counts, 0, rightInner.size);
+            rightInner.children[rightInner.size] = null;
+            rightInner.counts[rightInner.size] = 0;
+        }
+        right.keys[right.size - 1] = null;
+        right.size--;
+        child.size++;
+        parent.counts[index] = count(child);
+        parent.counts[index + 1] = count(right);
+    }
+
+    /**
+     * Merges the child at the specified position with its right sibling,
+     * removing the separator between them from the parent.
+     * @param parent parent of both children
+     * @param index position of the left child
+     */
+    private void merge(Inner<K,V> parent, int index) {
+        Node<K,V> left = parent.children[index];
+        Node<K,V> right = parent.children[index + 1];
+        if (left instanceof Leaf<K,V> leftLeaf) {
+            Leaf<K,V> rightLeaf = (Leaf<K,V>) right;
+            System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.size, rightLeaf.size);
+            System.arraycopy(rightLeaf.values, 0, leftLeaf.values, leftLeaf.size, rightLeaf.size);
+            leftLeaf.size += rightLeaf.size;
+            leftLeaf.next = rightLeaf.next;
+            if (leftLeaf.next != null)
+                leftLeaf.next.previous = leftLeaf;
+        } else {
+            Inner<K,V> leftInner = (Inner<K,V>) left;
+            Inner<K,V> rightInner = (Inner<K,V>) right;
+            leftInner.keys[leftInner.size] = parent.keys[index];
+            System.arraycopy(rightInner.keys, 0, leftInner.keys, leftInner.size + 1, rightInner.size);
+            System.arraycopy(rightInner.children, 0, leftInner.children, leftInner.size + 1, rightInner.size + 1);
+            System.arraycopy(rightInner.counts, 0, leftInner.counts, leftInner.size + 1, rightInner.size + 1);
+            leftInner.size += 1 + rightInner.size;
+        }
+        parent.counts[index] += parent.counts[index + 1];
+        System.arraycopy(parent.keys, index + 1, parent.keys, index, parent.size - index - 1);
+        System.arraycopy(parent.children, index + 2, parent.children, index + 1, parent.size - index - 1);
+        System.arraycopy(parent.counts, index + 2, parent.counts, index + 1, parent.size - index - 1);
+        parent.size--;
+        parent.keys[parent.size] = null;
+        parent.children[parent.size + 1] = null;
+        parent.counts[parent.size + 1] = 0;
+    }
+
+    @Override
+    public Entry<K,V> floorEntry(K key) {
+        return entryAt(this.floor(key, true));
+    }
+
+    @Override
+    public Entry<K,V> ceilingEntry(K key) {
+        return entryAt(this.ceiling(key, true));
+    }
+
+    @Override
+    public Entry<K,V> higherEntry(K key) {
+        return entryAt(this.ceiling(key, false));
+    }
+
+    @Override
+    public Entry<K,V> lowerEntry(K key) {
+        return entryAt(this.floor(key, false));
+    }
+
+    private static <K,V> Entry<K,V> entryAt(Position<K,V> position) {
+        return position == null ? null : position.entry();
+    }
+
+    /**
+     * Returns the position of the largest key less than the specified key
+     * (or equal to it, if inclusive); or null if there is none.
+     * @param key to be searched
+     * @param inclusive true if the position of the key may be returned
+     * @return see above
+     */
+    Position<K,V> floor(K key, boolean inclusive) {
+        Leaf<K,V> leaf = this.findLeaf(key);
+        int pos = this.search(leaf, key);
+        int index = pos >= 0 ? (inclusive ? pos : pos - 1) : -pos - 2;
+        while (index < 0) {
+            leaf = leaf.previous;
+            if (leaf == null)
+                return null;
+            index = leaf.size - 1;
+        }
+        return new Position<>(leaf, index);
+    }
+
+    /**
+     * Returns the position of the smallest key greater than the specified key
+     * (or equal to it, if inclusive); or null if there is none.
+     * @param key to be searched
+     * @param inclusive true if the position of the key may be returned
+     * @return see above
+     */
+    Position<K,V> ceiling(K key, boolean inclusive) {
+        Leaf<K,V> leaf = this.findLeaf(key);
+        int pos = this.search(leaf, key);
+        int index = pos >= 0 ? (inclusive ? pos : pos + 1) : -pos - 1;
+        while (index == leaf.size) {
+            leaf = leaf.next;
+            if (leaf == null)
+                return null;
+            index = 0;
+        }
+        return new Position<>(leaf, index);
+    }
+
+    /**
+     * Returns the position of the largest key of the tree, or null if the tree is empty.
+     * @return see above
+     */
+    private Position<K,V> last() {
+        if (this.isEmpty())
+            return null;
+        Node<K,V> node = root;
+        while (node instanceof Inner<K,V> inner)
+            node = inner.children[inner.size];
+        return new Position<>((Leaf<K,V>) node, node.size - 1);
+    }
+
+    @Override
+    public int rank(K key) {
+        int rank = 0;
+        Node<K,V> node = root;
+        while (node instanceof Inner<K,V> inner) {
+            int index = this.childIndex(inner, key);
+            for (int i = 0; i < index; i++)
+                rank += inner.counts[i];
+            node = inner.children[index];
+        }
+        int pos = this.search(node, key);
+        return rank + (pos >= 0 ? pos : -pos - 1);
+    }
+
+    @Override
+    public Entry<K,V> select(int position) throws InvalidPositionException {
+        return this.positionAt(position).entry();
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator(int fromIndex) throws InvalidPositionException {
+        if (fromIndex == currentSize && fromIndex >= 0)
+            return new BPlusTreeIterator<>(null, null, false);
+        return new BPlusTreeIterator<>(this.positionAt(fromIndex), this.last(), false);
+    }
+
+    /**
+     * Returns the position of the entry at the specified position in key order.
+     * @param position of the entry
+     * @return position of the entry in its leaf
+     * @throws InvalidPositionException if position is not between 0 and size()-1
+     */
+    private Position<K,V> positionAt(int position) throws InvalidPositionException {
+        if (position < 0 || position >= currentSize)
+            throw new InvalidPositionException();
+        Node<K,V> node = root;
+        while (node instanceof Inner<K,V> inner) {
+            int index = 0;
+            while (position >= inner.counts[index])
+                position -= inner.counts[index++];
+            node = inner.children[index];
+        }
+        return new Position<>((Leaf<K,V>) node, position);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return this.iterator(null, null);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator(K from, K to) {
+        return this.rangeIterator(from, to, false);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> descendingIterator(K from, K to) {
+        return this.rangeIterator(from, to, true);
+    }
+
+    /**
+     * Returns an iterator of the entries whose keys are between from and to, both inclusive.
+     * @param from smallest key of the range, or null
+     * @param to largest key of the range, or null
+     * @param descending true to iterate from the largest key down
+     * @return iterator of the entries in the range
+     */
+    private Iterator<Entry<K,V>> rangeIterator(K from, K to, boolean descending) {
+        Position<K,V> first = null;
+        Position<K,V> last = null;
+        if (!this.isEmpty()) {
+            first = from == null ? new Position<>(firstLeaf, 0) : this.ceiling(from, true);
+            last = to == null ? this.last() : this.floor(to, true);
+            if (first == null || last == null
+                    || first.leaf.keys[first.index].compareTo(last.leaf.keys[last.index]) > 0)
+                first = last = null;
+        }
+        return new BPlusTreeIterator<>(first, last, descending);
+    }
+
+    // Only the entries are stored, in key order; the nodes are rebuilt on load.
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(currentSize);
+        for (Leaf<K,V> leaf = firstLeaf; leaf != null; leaf = leaf.next)
+            for (int i = 0; i < leaf.size; i++) {
+                out.writeObject(leaf.keys[i]);
+                out.writeObject(leaf.values[i]);
+            }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.clear();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++)
+            this.insert((K) in.readObject(), (V) in.readObject());
+    }
+}
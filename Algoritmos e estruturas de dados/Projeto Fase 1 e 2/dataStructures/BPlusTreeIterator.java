@@ -0,0 +1,79 @@
+package dataStructures;
+
+/**
+ * Iterator of the entries of a range of a B+tree,
+ * in increasing or decreasing key order.
+ * Walks the linked leaves, reading each one from end to end.
+ * @author AED team
+ * @version 1.0
+ * @param <K> Generic type Key, must extend comparable
+ * @param <V> Generic type Value
+ */
+class BPlusTreeIterator<K extends Comparable<K>, V> implements Iterator<Entry<K,V>> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Position of the smallest key of the range (null if the range is empty).
+     */
+    private transient BPlusTree.Position<K,V> first;
+
+    /**
+     * Position of the largest key of the range (null if the range is empty).
+     */
+    private transient BPlusTree.Position<K,V> last;
+
+    /**
+     * True if the iteration goes from last down to first.
+     */
+    private boolean descending;
+
+    /**
+     * Leaf with the next entry to be returned (null if there is none).
+     */
+    private transient BPlusTree.Leaf<K,V> leaf;
+
+    /**
+     * Position of the next entry in its leaf.
+     */
+    private int index;
+
+    public BPlusTreeIterator(BPlusTree.Position<K,V> first, BPlusTree.Position<K,V> last, boolean descending) {
+        this.first = first;
+        this.last = last;
+        this.descending = descending;
+        rewind();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return leaf != null;
+    }
+
+    @Override
+    public Entry<K,V> next() throws NoSuchElementException {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Entry<K,V> entry = new EntryClass<>(leaf.keys[index], leaf.values[index]);
+        BPlusTree.Position<K,V> end = descending ? first : last;
+        if (leaf == end.leaf && index == end.index)
+            leaf = null;
+        else if (descending) {
+            if (--index < 0) {
+                leaf = leaf.previous;
+                index = leaf.size - 1;
+            }
+        } else if (++index == leaf.size) {
+            leaf = leaf.next;
+            index = 0;
+        }
+        return entry;
+    }
+
+    @Override
+    public void rewind() {
+        BPlusTree.Position<K,V> start = descending ? last : first;
+        leaf = start == null ? null : start.leaf;
+        index = start == null ? 0 : start.index;
+    }
+}
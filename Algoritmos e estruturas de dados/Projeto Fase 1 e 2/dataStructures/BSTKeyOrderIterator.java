@@ -1,46 +1,46 @@
 package dataStructures;
 
+/**
+ * In-order iterator of a binary search tree.
+ * Moves from node to node through the parent pointers, so neither
+ * next nor rewind allocate memory.
+ * @author AED team
+ * @version 1.0
+ * @param <K> Generic type Key
+ * @param <V> Generic type Value
+ */
 class BSTKeyOrderIterator<K,V> implements Iterator<Entry<K,V>> {
 
-	
-
 	static final long serialVersionUID = 0L;
 
 	protected BSTNode<Entry<K,V>> root;
 
-	protected Stack<BSTNode<Entry<K,V>>> p;
+	/**
+	 * Node with the next entry to be returned (null if there is none).
+	 */
+	protected BSTNode<Entry<K,V>> nextNode;
 
 
 	BSTKeyOrderIterator(BSTNode<Entry<K,V>> root){
 		this.root=root;
 		rewind();
 	}
-	
-	private void pushPathToMinimum(BSTNode<Entry<K,V>> node) {
-		while(node != null) {
-			p.push(node);
-			node = node.getLeft();
-		}
-	}
 
 	public boolean hasNext(){
-		 return !p.isEmpty();
-	 }
-
-
-    public Entry<K,V> next( ) throws NoSuchElementException {
-    	if (!hasNext()) throw new NoSuchElementException();
-    	else {
-    		BSTNode<Entry<K,V>> node = p.pop();
-    		if(node.getRight() != null) {
-    			this.pushPathToMinimum(node.getRight());
-    		}
-    		return node.getElement();
-    	}
-    }
-
-    public void rewind( ){
-		p = new StackInList<>();
-    	pushPathToMinimum(root);
-    }
+		return nextNode != null;
+	}
+
+	public Entry<K,V> next( ) throws NoSuchElementException {
+		if (!hasNext()) throw new NoSuchElementException();
+		BSTNode<Entry<K,V>> node = nextNode;
+		nextNode = BSTRangeIterator.successor(node);
+		return node.getElement();
+	}
+
+	public void rewind( ){
+		nextNode = root;
+		if (nextNode != null)
+			while (nextNode.getLeft() != null)
+				nextNode = nextNode.getLeft();
+	}
 }
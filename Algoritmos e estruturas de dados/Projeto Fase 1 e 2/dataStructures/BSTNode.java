@@ -43,6 +43,11 @@ public class BSTNode<E> implements Serializable
      */
     protected BSTNode<E> parent;
 
+    /**
+     * Number of nodes of the subtree rooted at this node.
+     */
+    protected int size;
+
     /**
      * Constructor for BST nodes
      * 
@@ -53,6 +58,7 @@ public class BSTNode<E> implements Serializable
         this.parent = parent;
         this.left = left;
         this.right = right;
+        this.setSize();
     }
     public BSTNode(E elem) {
         this(elem,null,null,null);
@@ -126,4 +132,31 @@ public class BSTNode<E> implements Serializable
     public void setParent(BSTNode<E> parent) {
         this.parent = parent;
     }
+
+    /**
+     * Returns the number of nodes of the subtree rooted at the given node.
+     * @param node root of the subtree (may be null)
+     * @return size of the subtree, 0 if node is null
+     */
+    static int size( BSTNode<?> node )
+    {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Returns the number of nodes of the subtree rooted at this node.
+     * @return size of the subtree
+     */
+    int getSize( )
+    {
+        return size;
+    }
+
+    /**
+     * Recomputes the size of the subtree rooted at this node from the sizes of its children.
+     */
+    void setSize( )
+    {
+        size = 1 + size(left) + size(right);
+    }
 }
@@ -0,0 +1,100 @@
+package dataStructures;
+
+/**
+ * Iterator of the entries of a range of a binary search tree.
+ * Moves from node to node through the parent pointers, in increasing
+ * or decreasing order, and stops at the last node of the range.
+ * @author AED team
+ * @version 1.0
+ * @param <K> Generic type Key
+ * @param <V> Generic type Value
+ */
+class BSTRangeIterator<K,V> implements Iterator<Entry<K,V>> {
+
+	static final long serialVersionUID = 0L;
+
+	/**
+	 * Node with the smallest entry of the range (null if the range is empty).
+	 */
+	protected BSTNode<Entry<K,V>> first;
+
+	/**
+	 * Node with the largest entry of the range (null if the range is empty).
+	 */
+	protected BSTNode<Entry<K,V>> last;
+
+	/**
+	 * True if the iteration goes from last down to first.
+	 */
+	protected boolean descending;
+
+	/**
+	 * Node with the next entry to be returned (null if there is none).
+	 */
+	protected BSTNode<Entry<K,V>> nextNode;
+
+	BSTRangeIterator(BSTNode<Entry<K,V>> first, BSTNode<Entry<K,V>> last, boolean descending) {
+		this.first = first;
+		this.last = last;
+		this.descending = descending;
+		rewind();
+	}
+
+	/**
+	 * Returns the node that follows the specified node in key order, or null.
+	 * @param node of the tree
+	 * @return next node in key order, or null
+	 */
+	static <E> BSTNode<E> successor(BSTNode<E> node) {
+		if (node.getRight() != null) {
+			node = node.getRight();
+			while (node.getLeft() != null)
+				node = node.getLeft();
+			return node;
+		}
+		BSTNode<E> parent = node.getParent();
+		while (parent != null && node == parent.getRight()) {
+			node = parent;
+			parent = parent.getParent();
+		}
+		return parent;
+	}
+
+	/**
+	 * Returns the node that precedes the specified node in key order, or null.
+	 * @param node of the tree
+	 * @return previous node in key order, or null
+	 */
+	static <E> BSTNode<E> predecessor(BSTNode<E> node) {
+		if (node.getLeft() != null) {
+			node = node.getLeft();
+			while (node.getRight() != null)
+				node = node.getRight();
+			return node;
+		}
+		BSTNode<E> parent = node.getParent();
+		while (parent != null && node == parent.getLeft()) {
+			node = parent;
+			parent = parent.getParent();
+		}
+		return parent;
+	}
+
+	public boolean hasNext() {
+		return nextNode != null;
+	}
+
+	public Entry<K,V> next() throws NoSuchElementException {
+		if (!hasNext()) throw new NoSuchElementException();
+		BSTNode<Entry<K,V>> node = nextNode;
+		if (descending)
+			nextNode = node == first ? null : predecessor(node);
+		else
+			nextNode = node == last ? null : successor(node);
+		return node.getElement();
+	}
+
+	public void rewind() {
+		nextNode = descending ? last : first;
+	}
+}
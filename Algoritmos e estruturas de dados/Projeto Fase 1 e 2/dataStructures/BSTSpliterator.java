@@ -0,0 +1,99 @@
+package dataStructures;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator of the entries of a binary search tree, in key order.
+ * It covers a range of positions and splits it in half; the first node of
+ * a range is found from the subtree sizes, so every split takes O(height)
+ * and every estimate is exact.
+ * @author AED team
+ * @version 1.0
+ * @param <K> Generic type Key
+ * @param <V> Generic type Value
+ */
+class BSTSpliterator<K extends Comparable<K>, V> implements Spliterator<Entry<K,V>> {
+
+	private final BSTNode<Entry<K,V>> root;
+
+	/**
+	 * Position of the next entry to be returned, and the end (exclusive) of the range.
+	 */
+	private int next, end;
+
+	/**
+	 * Node at position next (null until it is needed).
+	 */
+	private BSTNode<Entry<K,V>> nextNode;
+
+	BSTSpliterator(BSTNode<Entry<K,V>> root, int from, int to) {
+		this.root = root;
+		this.next = from;
+		this.end = to;
+	}
+
+	/**
+	 * Returns the node at the specified position of the tree.
+	 */
+	private BSTNode<Entry<K,V>> nodeAt(int position) {
+		BSTNode<Entry<K,V>> node = root;
+		while (true) {
+			int leftSize = BSTNode.size(node.getLeft());
+			if (position < leftSize)
+				node = node.getLeft();
+			else if (position == leftSize)
+				return node;
+			else {
+				position -= leftSize + 1;
+				node = node.getRight();
+			}
+		}
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super Entry<K,V>> action) {
+		if (next >= end)
+			return false;
+		if (nextNode == null)
+			nextNode = this.nodeAt(next);
+		BSTNode<Entry<K,V>> node = nextNode;
+		nextNode = ++next < end ? BSTRangeIterator.successor(node) : null;
+		action.accept(node.getElement());
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super Entry<K,V>> action) {
+		while (this.tryAdvance(action))
+			;
+	}
+
+	@Override
+	public Spliterator<Entry<K,V>> trySplit() {
+		int middle = (next + end) >>> 1;
+		if (middle <= next)
+			return null;
+		BSTSpliterator<K,V> half = new BSTSpliterator<>(root, next, middle);
+		half.nextNode = nextNode;
+		next = middle;
+		nextNode = null;
+		return half;
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - next;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | SORTED | SIZED | SUBSIZED | DISTINCT | NONNULL;
+	}
+
+	@Override
+	public Comparator<? super Entry<K,V>> getComparator() {
+		return (e1, e2) -> e1.getKey().compareTo(e2.getKey());
+	}
+}
@@ -1,17 +1,22 @@
 package dataStructures;
 
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serial;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
 
 /**
  * BinarySearchTree implementation
+ * When DictionaryStats.ENABLED, searches count the nodes on their path.
  * @author AED team
  * @version 1.0
  * @param <K> Generic type Key, must extend comparable
  * @param <V> Generic type Value 
  */
 public class BinarySearchTree<K extends Comparable<K>, V> 
-    implements OrderedDictionary<K,V>
+    implements OrderedDictionary<K,V>, Instrumented
 {                                                                   
     static final long serialVersionUID = 0L;
 
@@ -27,6 +32,8 @@ public class BinarySearchTree<K extends Comparable<K>, V>
      */
     protected int currentSize;
 
+    private transient DictionaryStats stats;
+
 
 
 
@@ -58,6 +65,8 @@ public class BinarySearchTree<K extends Comparable<K>, V>
     public V find( K key )                             
     {    
         BSTNode<Entry<K,V>> node = this.findNode(key);
+        if ( DictionaryStats.ENABLED )
+            this.stats().recordFind(depth(node));
         if ( node == null || node.getElement().getKey().compareTo(key) != 0 )
             return null;                                    
         else                                                     
@@ -65,6 +74,46 @@ public class BinarySearchTree<K extends Comparable<K>, V>
     }
 
 
+    /**
+     * Returns the number of nodes from the root to the specified node, inclusive.
+     * @param node node of the tree (may be null)
+     * @return number of nodes on the path, 0 if the node is null
+     */
+    static int depth( BSTNode<?> node )
+    {
+        int depth = 0;
+        for ( ; node != null; node = node.getParent() )
+            depth++;
+        return depth;
+    }
+
+
+    @Override
+    public DictionaryStats stats( )
+    {
+        if ( stats == null )
+            stats = new DictionaryStats(this);
+        return stats;
+    }
+
+
+    @Override
+    public int[] bucketHistogram( )
+    {
+        return null;
+    }
+
+
+    // Cada entrada custa um nó (5 campos, 6 num nó AVL) e uma EntryClass (2 campos).
+    @Override
+    public long retainedBytes( )
+    {
+        int nodeFields = root instanceof AVLNode ? 6 : 5;
+        return DictionaryStats.objectBytes(3)
+                + (long) currentSize * (DictionaryStats.objectBytes(nodeFields) + DictionaryStats.objectBytes(2));
+    }
+
+
     /*
     **
      * Returns the node whose key is the specified key;
@@ -135,6 +184,226 @@ public class BinarySearchTree<K extends Comparable<K>, V>
     }
 
 
+    @Override
+    public Entry<K,V> floorEntry( K key )
+    {
+        return elementOf(this.floorNode(this.probe(key), true));
+    }
+
+
+    @Override
+    public Entry<K,V> ceilingEntry( K key )
+    {
+        return elementOf(this.ceilingNode(this.probe(key), true));
+    }
+
+
+    @Override
+    public Entry<K,V> higherEntry( K key )
+    {
+        return elementOf(this.ceilingNode(this.probe(key), false));
+    }
+
+
+    @Override
+    public Entry<K,V> lowerEntry( K key )
+    {
+        return elementOf(this.floorNode(this.probe(key), false));
+    }
+
+
+    @Override
+    public Iterator<Entry<K,V>> iterator( K from, K to )
+    {
+        return this.rangeIterator(from == null ? null : this.probe(from),
+                to == null ? null : this.probe(to), false);
+    }
+
+
+    @Override
+    public Iterator<Entry<K,V>> descendingIterator( K from, K to )
+    {
+        return this.rangeIterator(from == null ? null : this.probe(from),
+                to == null ? null : this.probe(to), true);
+    }
+
+
+    @Override
+    public int rank( K key )
+    {
+        return this.rank(this.probe(key));
+    }
+
+
+    @Override
+    public Entry<K,V> select( int position ) throws InvalidPositionException
+    {
+        return this.selectNode(position).getElement();
+    }
+
+
+    @Override
+    public Iterator<Entry<K,V>> iterator( int fromIndex ) throws InvalidPositionException
+    {
+        if ( fromIndex == currentSize && fromIndex >= 0 )
+            return new BSTRangeIterator<>(null, null, false);
+        return new BSTRangeIterator<>(this.selectNode(fromIndex), this.maxNode(root), false);
+    }
+
+
+    /**
+     * Returns the number of entries before the probe, in the order of the tree.
+     * @param probe entry being ranked
+     * @return number of entries before the probe
+     */
+    int rank( Entry<K,V> probe )
+    {
+        int rank = 0;
+        BSTNode<Entry<K,V>> node = root;
+        while ( node != null )
+        {
+            if ( this.compare(probe, node.getElement()) > 0 ) {
+                // O nó e toda a sua subárvore esquerda ficam antes da sonda.
+                rank += BSTNode.size(node.getLeft()) + 1;
+                node = node.getRight();
+            }
+            else
+                node = node.getLeft();
+        }
+        return rank;
+    }
+
+
+    /**
+     * Returns the node at the specified position in the order of the tree.
+     * @param position of the node
+     * @return node at that position
+     * @throws InvalidPositionException if position is not between 0 and size()-1
+     */
+    BSTNode<Entry<K,V>> selectNode( int position ) throws InvalidPositionException
+    {
+        if ( position < 0 || position >= currentSize )
+            throw new InvalidPositionException();
+        BSTNode<Entry<K,V>> node = root;
+        while ( true )
+        {
+            int leftSize = BSTNode.size(node.getLeft());
+            if ( position < leftSize )
+                node = node.getLeft();
+            else if ( position == leftSize )
+                return node;
+            else {
+                position -= leftSize + 1;
+                node = node.getRight();
+            }
+        }
+    }
+
+
+    /**
+     * Returns an entry that compares to the entries of the tree as the specified key.
+     * @param key to be searched
+     * @return entry to be used in the searches
+     */
+    Entry<K,V> probe( K key )
+    {
+        return new EntryClass<>(key, null);
+    }
+
+
+    /**
+     * Compares an entry with the entry of a node, according to the order of the tree.
+     * @param probe entry being searched
+     * @param element entry of a node
+     * @return negative, zero or positive as probe is before, equal to or after element
+     */
+    int compare( Entry<K,V> probe, Entry<K,V> element )
+    {
+        return probe.getKey().compareTo(element.getKey());
+    }
+
+
+    private static <E> E elementOf( BSTNode<E> node )
+    {
+        return node == null ? null : node.getElement();
+    }
+
+
+    /**
+     * Returns the node with the largest entry before the probe
+     * (or equal to it, if inclusive); or null if there is none.
+     * @param probe entry being searched
+     * @param inclusive true if an entry equal to the probe may be returned
+     * @return see above
+     */
+    BSTNode<Entry<K,V>> floorNode( Entry<K,V> probe, boolean inclusive )
+    {
+        BSTNode<Entry<K,V>> node = root;
+        BSTNode<Entry<K,V>> candidate = null;
+        while ( node != null )
+        {
+            int compResult = this.compare(probe, node.getElement());
+            if ( compResult > 0 || (compResult == 0 && inclusive) ) {
+                candidate = node;
+                node = node.getRight();
+            }
+            else
+                node = node.getLeft();
+        }
+        return candidate;
+    }
+
+
+    /**
+     * Returns the node with the smallest entry after the probe
+     * (or equal to it, if inclusive); or null if there is none.
+     * @param probe entry being searched
+     * @param inclusive true if an entry equal to the probe may be returned
+     * @return see above
+     */
+    BSTNode<Entry<K,V>> ceilingNode( Entry<K,V> probe, boolean inclusive )
+    {
+        BSTNode<Entry<K,V>> node = root;
+        BSTNode<Entry<K,V>> candidate = null;
+        while ( node != null )
+        {
+            int compResult = this.compare(probe, node.getElement());
+            if ( compResult < 0 || (compResult == 0 && inclusive) ) {
+                candidate = node;
+                node = node.getLeft();
+            }
+            else
+                node = node.getRight();
+        }
+        return candidate;
+    }
+
+
+    /**
+     * Returns an iterator of the entries between the probes, both inclusive.
+     * A null probe leaves that end of the range open.
+     * Finding both ends of the range takes O(log n) for a balanced tree,
+     * and the iteration itself O(k), for k entries in the range.
+     * @param from first entry of the range, or null
+     * @param to last entry of the range, or null
+     * @param descending true to iterate from the last entry down to the first
+     * @return iterator of the entries in the range
+     */
+    Iterator<Entry<K,V>> rangeIterator( Entry<K,V> from, Entry<K,V> to, boolean descending )
+    {
+        BSTNode<Entry<K,V>> first = null;
+        BSTNode<Entry<K,V>> last = null;
+        if ( root != null )
+        {
+            first = from == null ? this.minNode(root) : this.ceilingNode(from, true);
+            last = to == null ? this.maxNode(root) : this.floorNode(to, true);
+            if ( first == null || last == null || this.compare(first.getElement(), last.getElement()) > 0 )
+                first = last = null;
+        }
+        return new BSTRangeIterator<>(first, last, descending);
+    }
+
+
     /**
      * Returns the node with the largest key 
      * in the tree rooted at the specified node.
@@ -188,9 +457,7 @@ public class BinarySearchTree<K extends Comparable<K>, V>
 
         if ( node == null || node.getElement().getKey().compareTo(key) != 0 )
         { //Chave nao existe, node do findNode é o parente
-            BSTNode<Entry<K,V>> newLeaf = new BSTNode<>(new EntryClass<>(key, value));
-            this.linkSubtreeInsert(newLeaf, node);
-            currentSize++;
+            this.insertLeaf(node, key, value);
             return null;   
         }                                 
         else 
@@ -202,6 +469,47 @@ public class BinarySearchTree<K extends Comparable<K>, V>
     }
 
 
+    /**
+     * Adds a leaf with the entry (key, value) as a child of the specified node.
+     * @param parent - node where the search for key ended (null if the tree is empty)
+     * @param key - key of the new entry, not in the tree
+     * @param value - value of the new entry
+     * @return the new leaf
+     */
+    BSTNode<Entry<K,V>> insertLeaf( BSTNode<Entry<K,V>> parent, K key, V value )
+    {
+        BSTNode<Entry<K,V>> newLeaf = this.newNode(new EntryClass<>(key, value), null, null);
+        this.linkSubtreeInsert(newLeaf, parent);
+        currentSize++;
+        if ( DictionaryStats.ENABLED )
+            this.stats().recordInsert();
+        return newLeaf;
+    }
+
+
+    /**
+     * Single search: the leaf is added where the search for key ended,
+     * or the node found is replaced or removed.
+     */
+    @Override
+    public V compute( K key, BiFunction<? super K, ? super V, ? extends V> remapping )
+    {
+        BSTNode<Entry<K,V>> node = this.findNode(key);
+        boolean present = node != null && node.getElement().getKey().compareTo(key) == 0;
+        V oldValue = present ? node.getElement().getValue() : null;
+        V value = remapping.apply(key, oldValue);
+        if ( value == null ) {
+            if ( present )
+                this.removeNode(node);
+        }
+        else if ( !present )
+            this.insertLeaf(node, key, value);
+        else if ( value != oldValue )
+            node.setElement(new EntryClass<>(key, value));
+        return value;
+    }
+
+
     /**
      * Links a new subtree, rooted at the specified node, to the tree.
      *
@@ -220,10 +528,21 @@ public class BinarySearchTree<K extends Comparable<K>, V>
                     parent.setRight(node);
                 else
                     parent.setLeft(node);
+                this.updateSizes(parent);
             }
         }
     }
 
+    /**
+     * Recomputes the subtree sizes on the path from the specified node to the root.
+     * @param node first node of the path (may be null)
+     */
+    void updateSizes( BSTNode<Entry<K,V>> node )
+    {
+        for ( ; node != null; node = node.getParent() )
+            node.setSize();
+    }
+
     /**
      *
      * @param grandchild child of middle, to be made child of parent.
@@ -232,10 +551,13 @@ public class BinarySearchTree<K extends Comparable<K>, V>
      */
     void linkSubtreeRemove( BSTNode<Entry<K,V>> grandchild, BSTNode<Entry<K,V>> parent, BSTNode<Entry<K,V>> middle)
     {
-        if ( parent == null )
+        if ( parent == null ) {
             // Se o nó pai for nulo, significa que o nó removido é a raiz da árvore.
             // Nesse caso, o "neto" se torna a nova raiz.
             root = grandchild;
+            if (grandchild != null)
+                grandchild.setParent(null);
+        }
         else {
 	        if (grandchild != null)
                 grandchild.setParent(parent);  // Ajusta o ponteiro do "neto" para apontar para o "pai" atual.
@@ -246,6 +568,7 @@ public class BinarySearchTree<K extends Comparable<K>, V>
                 parent.setLeft(grandchild);
             else
                 parent.setRight(grandchild);
+            this.updateSizes(parent);
 
         }
     }
@@ -264,28 +587,42 @@ public class BinarySearchTree<K extends Comparable<K>, V>
         else
         {
             V oldValue = node.getElement().getValue();// valor antigo.
-
-	        if ( node.getLeft() == null )
-                // The left subtree is empty.
-                this.linkSubtreeRemove(node.getRight(), node.getParent(),node);
-            else if ( node.getRight() == null )
-                // The right subtree is empty.
-                this.linkSubtreeRemove(node.getLeft(), node.getParent(),node);
-            else
-            {
-                // Node has 2 children. Replace the node's entry with
-                // the 'minEntry' of the right subtree.
-                BSTNode<Entry<K,V>> minNode = this.minNode(node.getRight());
-                node.setElement( minNode.getElement() );
-                // Remove the 'minEntry' of the right subtree.
-                this.linkSubtreeRemove(minNode.getRight(), minNode.getParent(),minNode);
-            }
-            currentSize--;
+            this.removeNode(node);
             return oldValue;
         }                                 
     }                                
 
 
+    /**
+     * Removes the entry of the specified node from the tree.
+     * @param node - node of the tree
+     * @return parent of the node that left the tree (null if it was the root)
+     */
+    BSTNode<Entry<K,V>> removeNode( BSTNode<Entry<K,V>> node )
+    {
+        BSTNode<Entry<K,V>> removed = node;
+        if ( node.getLeft() == null )
+            // The left subtree is empty.
+            this.linkSubtreeRemove(node.getRight(), node.getParent(),node);
+        else if ( node.getRight() == null )
+            // The right subtree is empty.
+            this.linkSubtreeRemove(node.getLeft(), node.getParent(),node);
+        else
+        {
+            // Node has 2 children. Replace the node's entry with
+            // the 'minEntry' of the right subtree.
+            removed = this.minNode(node.getRight());
+            node.setElement( removed.getElement() );
+            // Remove the 'minEntry' of the right subtree.
+            this.linkSubtreeRemove(removed.getRight(), removed.getParent(),removed);
+        }
+        currentSize--;
+        if ( DictionaryStats.ENABLED )
+            this.stats().recordRemove();
+        return removed.getParent();
+    }
+
+
     /**
      * Returns an iterator of the entries in the dictionary 
      * which preserves the key order relation.
@@ -297,27 +634,112 @@ public class BinarySearchTree<K extends Comparable<K>, V>
     }
 
 
+    @Override
+    public Spliterator<Entry<K,V>> spliterator( )
+    {
+        return new BSTSpliterator<>(root, 0, currentSize);
+    }
+
+
+    /**
+     * Replaces the contents of the tree by the specified entries, building a
+     * height-balanced tree in linear time, without comparisons or rotations.
+     * Requires: the entries are sorted in the order of the tree, without repetitions.
+     * @param entries iterator of the entries, in order
+     * @param size number of entries to be taken from the iterator
+     */
+    protected void buildFromSorted( Iterator<Entry<K,V>> entries, int size )
+    {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Entry<K,V>[] sorted = (Entry<K,V>[]) new Entry[size];
+        for ( int i = 0; i < size; i++ )
+            sorted[i] = entries.next();
+        this.buildFromSorted(sorted);
+    }
+
+
+    /**
+     * Replaces the contents of the tree by the entries of the array.
+     * Requires: the entries are sorted in the order of the tree, without repetitions.
+     * @param sorted entries, in order
+     */
+    void buildFromSorted( Entry<K,V>[] sorted )
+    {
+        root = this.build(sorted, 0, sorted.length);
+        currentSize = sorted.length;
+    }
+
+
+    /**
+     * Builds the subtree with the entries from position low (inclusive) to high (exclusive),
+     * rooted at the middle one; the sizes of both halves differ at most by one.
+     * @param sorted entries, in order
+     * @param low first position of the subtree
+     * @param high position after the last one of the subtree
+     * @return root of the subtree, or null if it is empty
+     */
+    private BSTNode<Entry<K,V>> build( Entry<K,V>[] sorted, int low, int high )
+    {
+        if ( low == high )
+            return null;
+        int mid = (low + high) >>> 1;
+        BSTNode<Entry<K,V>> left = this.build(sorted, low, mid);
+        BSTNode<Entry<K,V>> right = this.build(sorted, mid + 1, high);
+        // Os filhos já estão completos, por isso o construtor calcula o tamanho (e a altura).
+        BSTNode<Entry<K,V>> node = this.newNode(sorted[mid], left, right);
+        if ( left != null )
+            left.setParent(node);
+        if ( right != null )
+            right.setParent(node);
+        return node;
+    }
+
+
+    /**
+     * Creates a node of the kind used by the tree.
+     * @param element entry of the node
+     * @param left left subtree (may be null)
+     * @param right right subtree (may be null)
+     * @return the new node
+     */
+    BSTNode<Entry<K,V>> newNode( Entry<K,V> element, BSTNode<Entry<K,V>> left, BSTNode<Entry<K,V>> right )
+    {
+        return new BSTNode<>(element, null, left, right);
+    }
+
+
+    // Só as entradas são gravadas, pela ordem da árvore; a árvore é reconstruída
+    // em tempo linear. Ficheiros antigos trazem os nós gravados em root e são lidos tal como estão.
     @Serial
-    protected void writeObject(java.io.ObjectOutputStream out) throws IOException {
-        out.writeInt(currentSize);
-        if (root == null) {
-            return;
-        }
-        Iterator<Entry<K, V>> it = new BSTBreadthFirstIterator<>(root);
-        out.writeInt(currentSize);
-        while (it.hasNext()) {
-            Entry<K, V> entry = it.next();
+    private void writeObject( ObjectOutputStream out ) throws IOException
+    {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("root", null);
+        fields.put("currentSize", currentSize);
+        out.writeFields();
+        Iterator<Entry<K,V>> it = this.iterator();
+        while ( it.hasNext() ) {
+            Entry<K,V> entry = it.next();
             out.writeObject(entry.getKey());
             out.writeObject(entry.getValue());
         }
     }
+
+
     @SuppressWarnings("unchecked")
     @Serial
-    protected void readObject (java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
-        int size = in.readInt();
-        for (int i = 0; i < size; i++) {
-            this.insert((K) in.readObject(), (V) in.readObject());
-        }
+    private void readObject( ObjectInputStream in ) throws IOException, ClassNotFoundException
+    {
+        ObjectInputStream.GetField fields = in.readFields();
+        root = (BSTNode<Entry<K,V>>) fields.get("root", null);
+        currentSize = fields.get("currentSize", 0);
+        if ( root != null )
+            return;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Entry<K,V>[] sorted = (Entry<K,V>[]) new Entry[currentSize];
+        for ( int i = 0; i < sorted.length; i++ )
+            sorted[i] = new EntryClass<>((K) in.readObject(), (V) in.readObject());
+        this.buildFromSorted(sorted);
     }
 
 
@@ -0,0 +1,281 @@
+package dataStructures;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Dictionary decorator that keeps a Bloom filter of the keys in front of
+ * another dictionary, so that most searches for absent keys are answered
+ * without touching it.
+ * The filter is blocked: all the bits of a key are in one block of 512 bits,
+ * the size of a cache line, chosen by the hash of the key, so a search for an
+ * absent key reads a single line. The filter is sized from the expected number
+ * of entries and the wanted false positive rate, and rebuilt from the keys of
+ * the dictionary when the entries outgrow it, or when the removed keys, whose
+ * bits cannot be cleared, become too many.
+ * Searches never lock and see the bits set by any completed insert; updates
+ * are serialized, so the decorator is as thread safe as the dictionary inside.
+ * @author AED  Team
+ * @version 1.0
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public class BloomFilterDictionary<K,V> implements Dictionary<K,V> {
+
+    /**
+     * Serial Version UID of the Class.
+     */
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Default number of entries the filter is sized for.
+     */
+    public static final int DEFAULT_EXPECTED = 64;
+
+    /**
+     * Default false positive rate the filter is sized for.
+     */
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * Longs of a block, and bits of a block (2^9).
+     */
+    private static final int BLOCK = 8, BLOCK_BITS = 512;
+
+    /**
+     * Largest number of bits of a key: 9-bit slices of a 64-bit hash.
+     */
+    private static final int MAX_HASHES = 7;
+
+    /**
+     * The dictionary being decorated.
+     */
+    protected final Dictionary<K,V> dictionary;
+
+    /**
+     * False positive rate the filter is sized for.
+     */
+    private final double falsePositiveRate;
+
+    /**
+     * Bits of a filter, with the number of blocks and the number of bits of each key.
+     * Replaced as a whole when the filter is rebuilt.
+     */
+    static final class Filter {
+
+        final AtomicLongArray bits;
+
+        final int blocks;
+
+        final int hashes;
+
+        Filter(int blocks, int hashes) {
+            this.bits = new AtomicLongArray(blocks * BLOCK);
+            this.blocks = blocks;
+            this.hashes = hashes;
+        }
+
+        /**
+         * Returns the index of the first long of the block of the specified hash.
+         */
+        private int blockOf(long h) {
+            return (int) (((h >>> 32) * blocks) >>> 32) * BLOCK;
+        }
+
+        boolean mightContain(long h) {
+            int block = this.blockOf(h);
+            long g = mix(h);
+            for (int i = 0; i < hashes; i++, g >>>= 9) {
+                int bit = (int) g & (BLOCK_BITS - 1);
+                if ((bits.get(block + (bit >>> 6)) & (1L << bit)) == 0)
+                    return false;
+            }
+            return true;
+        }
+
+        void add(long h) {
+            int block = this.blockOf(h);
+            long g = mix(h);
+            for (int i = 0; i < hashes; i++, g >>>= 9) {
+                int bit = (int) g & (BLOCK_BITS - 1);
+                long mask = 1L << bit;
+                bits.getAndUpdate(block + (bit >>> 6), word -> word | mask);
+            }
+        }
+    }
+
+    /**
+     * Number of entries the filter is sized for.
+     */
+    private transient int expected;
+
+    private transient volatile Filter filter;
+
+    /**
+     * Number of keys removed since the filter was built.
+     */
+    private transient int removals;
+
+    /**
+     * Decorates the specified dictionary with a filter sized for the specified
+     * number of entries and false positive rate.
+     * @param dictionary to be decorated
+     * @param expected number of entries
+     * @param falsePositiveRate wanted, between 0 and 1
+     */
+    public BloomFilterDictionary(Dictionary<K,V> dictionary, int expected, double falsePositiveRate) {
+        this.dictionary = dictionary;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuild(Math.max(expected, dictionary.size()));
+    }
+
+    public BloomFilterDictionary(Dictionary<K,V> dictionary) {
+        this(dictionary, DEFAULT_EXPECTED, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Returns the hash code of the specified key, consistent with the
+     * equality of the keys of the decorated dictionary.
+     * @param key to be hashed
+     * @return hash code of the key
+     */
+    protected int hash(K key) {
+        return key.hashCode();
+    }
+
+    /**
+     * Finalizer of MurmurHash3: spreads every bit of the argument over the result.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return dictionary.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return dictionary.size();
+    }
+
+    @Override
+    public V find(K key) {
+        if (!this.mightContain(key))
+            return null;
+        return dictionary.find(key);
+    }
+
+    @Override
+    public synchronized V insert(K key, V value) {
+        filter.add(mix(this.hash(key)));
+        V oldValue = dictionary.insert(key, value);
+        if (oldValue == null && dictionary.size() > expected)
+            this.rebuild(2 * dictionary.size());
+        return oldValue;
+    }
+
+    @Override
+    public synchronized V remove(K key) {
+        V oldValue = dictionary.remove(key);
+        if (oldValue != null && ++removals > expected / 2)
+            this.rebuild(Math.max(2 * dictionary.size(), DEFAULT_EXPECTED));
+        return oldValue;
+    }
+
+    /**
+     * The key is added to the filter first, since the result may be inserted.
+     */
+    @Override
+    public synchronized V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        filter.add(mix(this.hash(key)));
+        int oldSize = dictionary.size();
+        V value = dictionary.compute(key, remapping);
+        if (dictionary.size() > oldSize && dictionary.size() > expected)
+            this.rebuild(2 * dictionary.size());
+        else if (dictionary.size() < oldSize && ++removals > expected / 2)
+            this.rebuild(Math.max(2 * dictionary.size(), DEFAULT_EXPECTED));
+        return value;
+    }
+
+    /**
+     * A key that is already present is returned without locking.
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+        V value = this.find(key);
+        if (value != null)
+            return value;
+        return this.compute(key, (k, oldValue) -> oldValue != null ? oldValue : mapping.apply(k));
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return dictionary.iterator();
+    }
+
+    @Override
+    public Spliterator<Entry<K,V>> spliterator() {
+        return dictionary.spliterator();
+    }
+
+    /**
+     * Returns false if the specified key is certainly not in the dictionary.
+     * @param key to be searched
+     * @return false if the key is absent, true if it may be present
+     */
+    public boolean mightContain(K key) {
+        return filter.mightContain(mix(this.hash(key)));
+    }
+
+    /**
+     * Returns the estimated probability that a key that is not in the
+     * dictionary passes the filter, from the fraction of bits set.
+     * @return estimated false positive rate
+     */
+    public double falsePositiveRate() {
+        Filter filter = this.filter;
+        long set = 0;
+        for (int i = 0; i < filter.bits.length(); i++)
+            set += Long.bitCount(filter.bits.get(i));
+        return Math.pow((double) set / (64L * filter.bits.length()), filter.hashes);
+    }
+
+    /**
+     * Builds a new filter, sized for the specified number of entries,
+     * with the keys of the dictionary.
+     * @param expected number of entries
+     */
+    private void rebuild(int expected) {
+        expected = Math.max(expected, 1);
+        double bitsPerKey = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long totalBits = (long) Math.ceil(expected * bitsPerKey);
+        int hashes = (int) Math.round(bitsPerKey * Math.log(2));
+        Filter newFilter = new Filter((int) Math.max(1, (totalBits + BLOCK_BITS - 1) / BLOCK_BITS),
+                Math.max(1, Math.min(hashes, MAX_HASHES)));
+        Iterator<Entry<K,V>> it = dictionary.iterator();
+        while (it.hasNext())
+            newFilter.add(mix(this.hash(it.next().getKey())));
+        // O novo filtro só é publicado depois de conter todas as chaves.
+        filter = newFilter;
+        this.expected = expected;
+        removals = 0;
+    }
+
+    // Only the dictionary and the rate are stored; the filter is rebuilt on load.
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.rebuild(Math.max(dictionary.size(), DEFAULT_EXPECTED));
+    }
+}
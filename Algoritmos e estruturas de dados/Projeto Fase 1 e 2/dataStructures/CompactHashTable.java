@@ -0,0 +1,313 @@
+package dataStructures;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.Arrays;
+
+/**
+ * Compact hash table implementation, that keeps the insertion order.
+ * The entries are appended to dense parallel arrays of keys, values and
+ * hash codes; a sparse array of ints, probed linearly, holds the position
+ * of each entry in the dense arrays. Iteration walks the dense arrays only,
+ * in insertion order, and there are no objects per entry.
+ * A removed entry leaves a hole in the dense arrays and a DUMMY mark in the
+ * index; both are dropped when the dense arrays fill up and are rebuilt.
+ * When DictionaryStats.ENABLED, searches count the index slots they examine
+ * and rebuilds are timed.
+ * @author AED  Team
+ * @version 1.0
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public class CompactHashTable<K,V> extends HashTable<K,V> implements Instrumented {
+
+    /**
+     * Serial Version UID of the Class.
+     */
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Marks of the index: a slot never used, and a slot whose entry was removed.
+     */
+    protected static final int EMPTY = -1, DUMMY = -2;
+
+    /**
+     * Smallest number of slots of the index.
+     */
+    protected static final int MIN_SLOTS = 8;
+
+    /**
+     * Position in the dense arrays of the entry of each slot, or EMPTY or DUMMY.
+     */
+    protected transient int[] index;
+
+    /**
+     * Keys, in insertion order (null in the holes left by removals).
+     */
+    protected transient K[] keys;
+
+    /**
+     * Values, in insertion order.
+     */
+    protected transient V[] values;
+
+    /**
+     * Hash codes of the keys.
+     */
+    protected transient int[] hashes;
+
+    /**
+     * Positions of the dense arrays in use, holes included.
+     */
+    protected transient int used;
+
+    /**
+     * Number of slots of the index minus one (the number of slots is a power of two).
+     */
+    protected transient int mask;
+
+    private transient DictionaryStats stats;
+
+
+    /**
+     * Constructor of an empty compact hash table,
+     * able to hold the specified number of entries without growing.
+     * @param capacity defines the table capacity.
+     */
+    public CompactHashTable(int capacity) {
+        this.allocate(slotsFor(capacity));
+        currentSize = 0;
+    }
+
+    public CompactHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the smallest power of two number of slots whose dense arrays,
+     * allocated for two thirds of the slots, hold <code>capacity</code> entries.
+     * @param capacity number of entries
+     * @return number of slots
+     */
+    protected static int slotsFor(int capacity) {
+        int slots = MIN_SLOTS;
+        while (slots / 3 * 2 < capacity && slots < 1 << 30)
+            slots <<= 1;
+        return slots;
+    }
+
+    /**
+     * Returns the hash value of the specified key.
+     * @param key to be encoded
+     * @return hash value of the specified key
+     */
+    protected int hash(K key) {
+        return spread(key.hashCode());
+    }
+
+    /**
+     * Returns true iff both keys denote the same entry.
+     * @param stored key stored in the table
+     * @param key key being searched
+     * @return true if the keys are equal
+     */
+    protected boolean sameKey(K stored, K key) {
+        return stored.equals(key);
+    }
+
+    @Override
+    public V find(K key) {
+        int h = this.hash(key);
+        int slot = this.findSlot(key, h);
+        if (DictionaryStats.ENABLED)
+            this.stats().recordFind(this.examined(slot, h));
+        if (slot == -1)
+            return null;
+        return values[index[slot]];
+    }
+
+    @Override
+    public V insert(K key, V value) {
+        int h = this.hash(key);
+        int slot = this.findSlot(key, h);
+        if (slot != -1) {
+            int position = index[slot];
+            V oldValue = values[position];
+            values[position] = value;
+            return oldValue;
+        }
+        if (used == keys.length)
+            this.rebuild(2 * (currentSize + 1));
+        this.append(key, value, h);
+        currentSize++;
+        if (DictionaryStats.ENABLED)
+            this.stats().recordInsert();
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        int slot = this.findSlot(key, this.hash(key));
+        if (slot == -1)
+            return null;
+        int position = index[slot];
+        V oldValue = values[position];
+        index[slot] = DUMMY;
+        keys[position] = null;
+        values[position] = null;
+        currentSize--;
+        if (DictionaryStats.ENABLED)
+            this.stats().recordRemove();
+        if (index.length > MIN_SLOTS && currentSize <= keys.length / 8)
+            this.rebuild(2 * currentSize);
+        return oldValue;
+    }
+
+    /**
+     * Returns an iterator of the entries, in insertion order.
+     * @return iterator of the entries in the dictionary
+     */
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return new CompactHashTableIterator<>(keys, values, used);
+    }
+
+    /**
+     * Returns the slot of the index holding the specified key, or -1 if there is none.
+     * @param key to be searched
+     * @param h hash value of the key
+     * @return slot of the key, or -1
+     */
+    protected int findSlot(K key, int h) {
+        int slot = h & mask;
+        int position;
+        while ((position = index[slot]) != EMPTY) {
+            if (position >= 0 && hashes[position] == h && this.sameKey(keys[position], key))
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of slots a search examined.
+     * @param slot where the key was found, or -1
+     * @param h hash value of the key
+     * @return number of slots examined
+     */
+    private int examined(int slot, int h) {
+        if (slot == -1) {
+            slot = h & mask;
+            while (index[slot] != EMPTY)
+                slot = (slot + 1) & mask;
+        }
+        return ((slot - (h & mask)) & mask) + 1;
+    }
+
+    /**
+     * Appends a new entry to the dense arrays and indexes it in the first
+     * free slot of its probe sequence.
+     * Pre-condition: the key is not in the table and the dense arrays are not full.
+     * @param key key of the entry
+     * @param value value of the entry
+     * @param h hash value of the key
+     */
+    protected void append(K key, V value, int h) {
+        int position = used++;
+        keys[position] = key;
+        values[position] = value;
+        hashes[position] = h;
+        int slot = h & mask;
+        while (index[slot] >= 0)
+            slot = (slot + 1) & mask;
+        index[slot] = position;
+    }
+
+    /**
+     * Allocates an empty index with the specified number of slots,
+     * and dense arrays for two thirds as many entries.
+     * @param slots number of slots (a power of two)
+     */
+    @SuppressWarnings("unchecked")
+    protected void allocate(int slots) {
+        index = new int[slots];
+        Arrays.fill(index, EMPTY);
+        mask = slots - 1;
+        int capacity = slots / 3 * 2;
+        keys = (K[]) new Object[capacity];
+        values = (V[]) new Object[capacity];
+        hashes = new int[capacity];
+        used = 0;
+        maxSize = capacity;
+    }
+
+    /**
+     * Moves the entries, in order and without the holes,
+     * to new arrays sized for the specified number of entries.
+     * @param capacity number of entries
+     */
+    protected void rebuild(int capacity) {
+        long start = DictionaryStats.ENABLED ? System.nanoTime() : 0;
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldUsed = used;
+        this.allocate(slotsFor(capacity));
+        for (int i = 0; i < oldUsed; i++)
+            if (oldKeys[i] != null)
+                this.append(oldKeys[i], oldValues[i], oldHashes[i]);
+        if (DictionaryStats.ENABLED)
+            this.stats().recordRehash(System.nanoTime() - start, true);
+    }
+
+    @Override
+    public DictionaryStats stats() {
+        if (stats == null)
+            stats = new DictionaryStats(this);
+        return stats;
+    }
+
+    @Override
+    public int[] bucketHistogram() {
+        int[] histogram = new int[1];
+        for (int slot = 0; slot < index.length; slot++)
+            if (index[slot] >= 0) {
+                int distance = (slot - (hashes[index[slot]] & mask)) & mask;
+                if (distance >= histogram.length)
+                    histogram = Arrays.copyOf(histogram, distance + 1);
+                histogram[distance]++;
+            }
+        return histogram;
+    }
+
+    // O índice e três arrays densos, sem objetos por entrada.
+    @Override
+    public long retainedBytes() {
+        return DictionaryStats.objectBytes(10) + DictionaryStats.arrayBytes(index.length)
+                + 3 * DictionaryStats.arrayBytes(keys.length);
+    }
+
+    // Only the entries are stored, in insertion order; the index is rebuilt on load.
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        for (int i = 0; i < used; i++)
+            if (keys[i] != null) {
+                out.writeObject(keys[i]);
+                out.writeObject(values[i]);
+            }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.allocate(slotsFor(currentSize));
+        for (int i = 0; i < currentSize; i++) {
+            K key = (K) in.readObject();
+            this.append(key, (V) in.readObject(), this.hash(key));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package dataStructures;
+
+/**
+ * Iterator of the entries of a compact hash table, in insertion order.
+ * Walks the dense arrays, skipping the holes left by removals.
+ * @author AED  Team
+ * @version 1.0
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+class CompactHashTableIterator<K,V> implements Iterator<Entry<K,V>> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Keys of the table, in insertion order (null in the holes).
+     */
+    private K[] keys;
+
+    /**
+     * Values of the table.
+     */
+    private V[] values;
+
+    /**
+     * Positions of the arrays in use.
+     */
+    private int used;
+
+    /**
+     * Position of the next entry to be returned.
+     */
+    private int currentIndex;
+
+    public CompactHashTableIterator(K[] keys, V[] values, int used) {
+        this.keys = keys;
+        this.values = values;
+        this.used = used;
+        rewind();
+    }
+
+    /**
+     * Advances currentIndex to the first entry not before it.
+     */
+    private void nextEntry() {
+        while (currentIndex < used && keys[currentIndex] == null)
+            currentIndex++;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return currentIndex < used;
+    }
+
+    @Override
+    public Entry<K,V> next() throws NoSuchElementException {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Entry<K,V> entry = new EntryClass<>(keys[currentIndex], values[currentIndex]);
+        currentIndex++;
+        nextEntry();
+        return entry;
+    }
+
+    @Override
+    public void rewind() {
+        currentIndex = 0;
+        nextEntry();
+    }
+}
@@ -0,0 +1,349 @@
+package dataStructures;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Thread safe separate chaining hash table implementation.
+ * Writers lock one of a fixed number of stripes; readers never lock:
+ * the chains are linked through volatile fields, so a find always sees
+ * a consistent chain, even while a writer is changing it.
+ * The number of buckets is a power of two multiple of the number of stripes,
+ * so every key of a bucket is guarded by the same stripe.
+ * Growing the table locks every stripe and publishes a copy of the chains.
+ * Iterators are weakly consistent and never fail. They walk the array of
+ * buckets of when they were created: they return every entry present then,
+ * except those removed before the iterator reaches them, together with some
+ * of the entries inserted meanwhile. Once the table grows, changes are made
+ * to the copied chains only, and the iterator no longer sees them: it may
+ * return entries removed after the growth, and misses those inserted.
+ * @author AED  Team
+ * @version 1.0
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public class ConcurrentSepChainHashTable<K,V> implements Dictionary<K,V> {
+
+    /**
+     * Serial Version UID of the Class.
+     */
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Default number of lock stripes.
+     */
+    public static final int DEFAULT_STRIPES = 16;
+
+    /**
+     * Maximum ratio between the number of entries and the number of buckets.
+     */
+    protected static final float MAX_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Node of a chain. Key and hash never change; value and next are
+     * volatile, so that readers see the latest writes without locking.
+     */
+    static final class Node<K,V> {
+
+        final K key;
+
+        final int hash;
+
+        volatile V value;
+
+        volatile Node<K,V> next;
+
+        Node(K key, int hash, V value, Node<K,V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * The buckets, each one holding the first node of its chain.
+     */
+    protected transient volatile AtomicReferenceArray<Node<K,V>> table;
+
+    /**
+     * Lock of each stripe (the number of stripes is a power of two).
+     */
+    protected transient ReentrantLock[] locks;
+
+    /**
+     * Number of entries in the table.
+     */
+    protected transient AtomicInteger currentSize;
+
+    /**
+     * Number of lock stripes.
+     */
+    protected int stripes;
+
+
+    /**
+     * Constructor of an empty concurrent hash table,
+     * able to hold the specified number of entries without growing,
+     * with the specified number of lock stripes.
+     * @param capacity defines the table capacity.
+     * @param stripes maximum number of concurrent writers.
+     */
+    public ConcurrentSepChainHashTable(int capacity, int stripes) {
+        this.stripes = powerOfTwo(stripes);
+        this.initialize(capacity);
+    }
+
+    public ConcurrentSepChainHashTable(int capacity) {
+        this(capacity, DEFAULT_STRIPES);
+    }
+
+    public ConcurrentSepChainHashTable() {
+        this(HashTable.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the smallest power of two not less than the specified number.
+     * @param number positive number
+     * @return power of two
+     */
+    protected static int powerOfTwo(int number) {
+        int size = Integer.highestOneBit(Math.max(number, 1));
+        if (size < number)
+            size <<= 1;
+        return size;
+    }
+
+    /**
+     * Creates the locks, the counter and an empty table for the specified capacity.
+     * @param capacity number of entries
+     */
+    private void initialize(int capacity) {
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++)
+            locks[i] = new ReentrantLock();
+        currentSize = new AtomicInteger();
+        int buckets = powerOfTwo((int) Math.ceil(Math.max(capacity, 1) / MAX_LOAD_FACTOR));
+        table = new AtomicReferenceArray<>(Math.max(buckets, stripes));
+    }
+
+    /**
+     * Returns the hash value of the specified key.
+     * @param key to be encoded
+     * @return hash value of the specified key
+     */
+    protected int hash(K key) {
+        return HashTable.spread(key.hashCode());
+    }
+
+    /**
+     * Returns true iff both keys denote the same entry.
+     * @param stored key stored in the table
+     * @param key key being searched
+     * @return true if the keys are equal
+     */
+    protected boolean sameKey(K stored, K key) {
+        return stored.equals(key);
+    }
+
+    /**
+     * Returns the node of the specified chain holding the specified key, or null.
+     * @param first first node of the chain
+     * @param key to be searched
+     * @param h hash value of the key
+     * @return node of the key, or null
+     */
+    private Node<K,V> findNode(Node<K,V> first, K key, int h) {
+        for (Node<K,V> node = first; node != null; node = node.next)
+            if (node.hash == h && this.sameKey(node.key, key))
+                return node;
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return currentSize.get() == 0;
+    }
+
+    @Override
+    public int size() {
+        return currentSize.get();
+    }
+
+    @Override
+    public V find(K key) {
+        int h = this.hash(key);
+        AtomicReferenceArray<Node<K,V>> tab = table;
+        Node<K,V> node = this.findNode(tab.get(h & (tab.length() - 1)), key, h);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public V insert(K key, V value) {
+        int h = this.hash(key);
+        ReentrantLock lock = locks[h & (stripes - 1)];
+        lock.lock();
+        try {
+            AtomicReferenceArray<Node<K,V>> tab = table;
+            int index = h & (tab.length() - 1);
+            Node<K,V> first = tab.get(index);
+            Node<K,V> node = this.findNode(first, key, h);
+            if (node != null) {
+                V oldValue = node.value;
+                node.value = value;
+                return oldValue;
+            }
+            tab.set(index, new Node<>(key, h, value, first));
+        } finally {
+            lock.unlock();
+        }
+        if (currentSize.incrementAndGet() > table.length() * MAX_LOAD_FACTOR)
+            this.grow();
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        int h = this.hash(key);
+        ReentrantLock lock = locks[h & (stripes - 1)];
+        lock.lock();
+        try {
+            AtomicReferenceArray<Node<K,V>> tab = table;
+            int index = h & (tab.length() - 1);
+            Node<K,V> previous = null;
+            for (Node<K,V> node = tab.get(index); node != null; node = node.next) {
+                if (node.hash == h && this.sameKey(node.key, key)) {
+                    if (previous == null)
+                        tab.set(index, node.next);
+                    else
+                        previous.next = node.next;
+                    currentSize.decrementAndGet();
+                    return node.value;
+                }
+                previous = node;
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs under the lock of the stripe of the key, so the update is atomic;
+     * the remapping function must be short, and must not change the table.
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        int h = this.hash(key);
+        ReentrantLock lock = locks[h & (stripes - 1)];
+        V value;
+        boolean inserted = false;
+        lock.lock();
+        try {
+            AtomicReferenceArray<Node<K,V>> tab = table;
+            int index = h & (tab.length() - 1);
+            Node<K,V> previous = null;
+            Node<K,V> node = tab.get(index);
+            while (node != null && !(node.hash == h && this.sameKey(node.key, key))) {
+                previous = node;
+                node = node.next;
+            }
+            V oldValue = node == null ? null : node.value;
+            value = remapping.apply(key, oldValue);
+            if (node == null) {
+                if (value != null) {
+                    tab.set(index, new Node<>(key, h, value, tab.get(index)));
+                    inserted = true;
+                }
+            }
+            else if (value != null)
+                node.value = value;
+            else {
+                if (previous == null)
+                    tab.set(index, node.next);
+                else
+                    previous.next = node.next;
+                currentSize.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (inserted && currentSize.incrementAndGet() > table.length() * MAX_LOAD_FACTOR)
+            this.grow();
+        return value;
+    }
+
+    /**
+     * A key that is already present is returned without locking.
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+        V value = this.find(key);
+        if (value != null)
+            return value;
+        return this.compute(key, (k, oldValue) -> oldValue != null ? oldValue : mapping.apply(k));
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return new ConcurrentSepChainHashTableIterator<>(table);
+    }
+
+    /**
+     * Doubles the number of buckets, if the table is still overloaded once
+     * every stripe is locked. The chains are copied, so that readers still
+     * walking the old buckets are not disturbed.
+     */
+    protected void grow() {
+        for (ReentrantLock lock : locks)
+            lock.lock();
+        try {
+            AtomicReferenceArray<Node<K,V>> oldTable = table;
+            int length = oldTable.length();
+            if (currentSize.get() <= length * MAX_LOAD_FACTOR)
+                return;
+            AtomicReferenceArray<Node<K,V>> newTable = new AtomicReferenceArray<>(2 * length);
+            int mask = 2 * length - 1;
+            for (int i = 0; i < length; i++)
+                for (Node<K,V> node = oldTable.get(i); node != null; node = node.next) {
+                    int index = node.hash & mask;
+                    newTable.set(index, new Node<>(node.key, node.hash, node.value, newTable.get(index)));
+                }
+            table = newTable;
+        } finally {
+            for (ReentrantLock lock : locks)
+                lock.unlock();
+        }
+    }
+
+    // The locks and the buckets cannot be stored: only the entries are,
+    // and the table is rebuilt on load.
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        Iterator<Entry<K,V>> it = this.iterator();
+        while (it.hasNext()) {
+            Entry<K,V> entry = it.next();
+            out.writeObject(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
+        out.writeObject(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.initialize(HashTable.DEFAULT_CAPACITY);
+        K key;
+        while ((key = (K) in.readObject()) != null)
+            this.insert(key, (V) in.readObject());
+    }
+}
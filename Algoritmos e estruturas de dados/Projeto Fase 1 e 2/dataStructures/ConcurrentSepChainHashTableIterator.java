@@ -0,0 +1,67 @@
+package dataStructures;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Weakly consistent iterator of the entries of a concurrent hash table.
+ * Walks the buckets of the table as it was when the iterator was created,
+ * following the chains as they are when each node is reached.
+ * @author AED  Team
+ * @version 1.0
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+class ConcurrentSepChainHashTableIterator<K,V> implements Iterator<Entry<K,V>> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Buckets of the table.
+     */
+    private transient AtomicReferenceArray<ConcurrentSepChainHashTable.Node<K,V>> table;
+
+    /**
+     * Bucket after the one holding the next node.
+     */
+    private int currentIndex;
+
+    /**
+     * Node with the next entry to be returned (null if there is none).
+     */
+    private transient ConcurrentSepChainHashTable.Node<K,V> nextNode;
+
+    public ConcurrentSepChainHashTableIterator(AtomicReferenceArray<ConcurrentSepChainHashTable.Node<K,V>> table) {
+        this.table = table;
+        rewind();
+    }
+
+    /**
+     * Advances nextNode to the first node of the next non empty bucket, if nextNode is null.
+     */
+    private void nextNonEmptyBucket() {
+        while (nextNode == null && currentIndex < table.length())
+            nextNode = table.get(currentIndex++);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextNode != null;
+    }
+
+    @Override
+    public Entry<K,V> next() throws NoSuchElementException {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Entry<K,V> entry = new EntryClass<>(nextNode.key, nextNode.value);
+        nextNode = nextNode.next;
+        nextNonEmptyBucket();
+        return entry;
+    }
+
+    @Override
+    public void rewind() {
+        currentIndex = 0;
+        nextNode = null;
+        nextNonEmptyBucket();
+    }
+}
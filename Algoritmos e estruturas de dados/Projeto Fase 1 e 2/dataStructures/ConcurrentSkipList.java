@@ -0,0 +1,446 @@
+package dataStructures;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free skip list implementation of an ordered dictionary.
+ * Every node is linked at the lowest level, in key order, and at a random
+ * number of the levels above it, each one holding about half of the nodes
+ * of the level below. The links are marked references: a node is removed by
+ * clearing its value and then marking its links, after which any search that
+ * passes by unlinks it. No operation takes a lock.
+ * Iterators are weakly consistent: they never fail, and return every entry
+ * that was present when the iterator was created and not removed since,
+ * together with some of the entries inserted meanwhile.
+ * The order statistics (rank, select and iterator from a position) walk the
+ * lowest level, in linear time.
+ *
+ * @author AED team
+ * @version 1.0
+ *
+ * @param <K> Generic type Key, must extend comparable
+ * @param <V> Generic type Value
+ */
+public class ConcurrentSkipList<K extends Comparable<K>, V> implements OrderedDictionary<K,V> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Maximum number of levels of a node.
+     */
+    static final int MAX_LEVEL = 24;
+
+    /**
+     * Node of the list. The value is null once the node has been removed;
+     * next[i] is the link at level i, marked once the node has been removed.
+     */
+    static final class Node<K,V> {
+
+        final K key;
+
+        final AtomicReference<V> value;
+
+        final AtomicMarkableReference<Node<K,V>>[] next;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(K key, V value, int height) {
+            this.key = key;
+            this.value = new AtomicReference<>(value);
+            next = (AtomicMarkableReference<Node<K,V>>[]) new AtomicMarkableReference[height];
+            for (int i = 0; i < height; i++)
+                next[i] = new AtomicMarkableReference<>(null, false);
+        }
+
+        Node<K,V> next(int level) {
+            return next[level].getReference();
+        }
+    }
+
+    /**
+     * Sentinel that precedes every node, at every level.
+     */
+    protected transient Node<K,V> head;
+
+    /**
+     * Number of entries in the list.
+     */
+    protected transient AtomicInteger currentSize;
+
+    public ConcurrentSkipList() {
+        this.initialize();
+    }
+
+    private void initialize() {
+        head = new Node<>(null, null, MAX_LEVEL);
+        currentSize = new AtomicInteger();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public int size() {
+        // Uma remoção pode contar antes da inserção que a precede.
+        return Math.max(currentSize.get(), 0);
+    }
+
+    /**
+     * Returns a random height: 1 with probability 1/2, 2 with probability 1/4, and so on.
+     * @return height of a new node
+     */
+    private static int randomLevel() {
+        int level = 1 + Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt());
+        return Math.min(level, MAX_LEVEL);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K,V> Node<K,V>[] newPath() {
+        return (Node<K,V>[]) new Node[MAX_LEVEL];
+    }
+
+    /**
+     * Searches the specified key, unlinking the removed nodes found on the way.
+     * Leaves in preds[i] the last node of level i with a smaller key, and in
+     * succs[i] the node that follows it (null at the end of the level).
+     * @param key to be searched
+     * @param preds predecessors at each level
+     * @param succs successors at each level
+     * @return true if succs[0] holds the key
+     */
+    private boolean find(K key, Node<K,V>[] preds, Node<K,V>[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node<K,V> pred = head;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                Node<K,V> curr = pred.next(level);
+                while (curr != null) {
+                    Node<K,V> succ = curr.next[level].get(marked);
+                    if (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false))
+                            continue retry;
+                        curr = succ;
+                    } else if (curr.key.compareTo(key) < 0) {
+                        pred = curr;
+                        curr = succ;
+                    } else
+                        break;
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return succs[0] != null && succs[0].key.compareTo(key) == 0;
+        }
+    }
+
+    /**
+     * Returns the last node of the lowest level whose key is less than the specified key
+     * (or equal to it, if inclusive); the head if there is none.
+     * A null key stands above every key.
+     * Like find, but without unlinking: the removed nodes are stepped over,
+     * and never taken as predecessors, since their links may be out of date.
+     * @param key to be searched
+     * @param inclusive true if the node with the key may be returned
+     * @return see above
+     */
+    private Node<K,V> predecessor(K key, boolean inclusive) {
+        boolean[] marked = {false};
+        Node<K,V> pred = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node<K,V> curr = pred.next(level);
+            while (curr != null) {
+                Node<K,V> succ = curr.next[level].get(marked);
+                if (marked[0])
+                    curr = succ;
+                else if (key == null || before(curr.key, key, inclusive)) {
+                    pred = curr;
+                    curr = succ;
+                } else
+                    break;
+            }
+        }
+        return pred;
+    }
+
+    private static <K extends Comparable<K>> boolean before(K nodeKey, K key, boolean inclusive) {
+        int compResult = nodeKey.compareTo(key);
+        return compResult < 0 || (inclusive && compResult == 0);
+    }
+
+    /**
+     * Marks every link of the specified node, from the top level down.
+     * @param node whose value was cleared
+     */
+    private void mark(Node<K,V> node) {
+        boolean[] marked = {false};
+        for (int level = node.next.length - 1; level >= 0; level--) {
+            Node<K,V> succ = node.next[level].get(marked);
+            while (!marked[0]) {
+                node.next[level].attemptMark(succ, true);
+                succ = node.next[level].get(marked);
+            }
+        }
+    }
+
+    @Override
+    public V find(K key) {
+        Node<K,V> node = this.ceilingNode(key, true);
+        if (node == null || node.key.compareTo(key) != 0)
+            return null;
+        return node.value.get();
+    }
+
+    @Override
+    public V insert(K key, V value) {
+        Node<K,V>[] preds = newPath();
+        Node<K,V>[] succs = newPath();
+        while (true) {
+            if (this.find(key, preds, succs)) {
+                Node<K,V> node = succs[0];
+                V current = node.value.get();
+                if (current == null)
+                    // Ajuda a remoção em curso; a próxima pesquisa desliga o nó.
+                    this.mark(node);
+                else if (node.value.compareAndSet(current, value))
+                    return current;
+                continue;
+            }
+            int height = randomLevel();
+            Node<K,V> node = new Node<>(key, value, height);
+            for (int level = 0; level < height; level++)
+                node.next[level].set(succs[level], false);
+            // O nó passa a existir quando fica ligado no nível mais baixo.
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false))
+                continue;
+            currentSize.incrementAndGet();
+            this.linkUpperLevels(node, preds, succs);
+            return null;
+        }
+    }
+
+    /**
+     * Links a node, already linked at the lowest level, at the levels above.
+     * Stops if the node starts being removed meanwhile.
+     * @param node to be linked
+     * @param preds predecessors of the node at each level
+     * @param succs successors of the node at each level
+     */
+    private void linkUpperLevels(Node<K,V> node, Node<K,V>[] preds, Node<K,V>[] succs) {
+        boolean[] marked = {false};
+        for (int level = 1; level < node.next.length; level++) {
+            while (true) {
+                Node<K,V> succ = node.next[level].get(marked);
+                if (marked[0])
+                    return;
+                if (succ != succs[level] && !node.next[level].compareAndSet(succ, succs[level], false, false))
+                    continue;
+                if (preds[level].next[level].compareAndSet(succs[level], node, false, false))
+                    break;
+                this.find(node.key, preds, succs);
+                if (succs[0] != node)
+                    return;
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        return this.remove(key, null, false);
+    }
+
+    /**
+     * Removes the entry with the specified key, if it is associated with the specified value.
+     * @param key whose entry is to be removed
+     * @param value expected value of the entry
+     * @return value of the removed entry, or null if no entry was removed
+     */
+    @Override
+    public V remove(K key, V value) {
+        return this.remove(key, value, true);
+    }
+
+    private V remove(K key, V expected, boolean checkValue) {
+        Node<K,V>[] preds = newPath();
+        Node<K,V>[] succs = newPath();
+        while (true) {
+            if (!this.find(key, preds, succs))
+                return null;
+            Node<K,V> node = succs[0];
+            V current = node.value.get();
+            if (current == null || (checkValue && !current.equals(expected)))
+                return null;
+            // A remoção acontece quando o valor passa a null; marcar e desligar é arrumação.
+            if (node.value.compareAndSet(current, null)) {
+                currentSize.decrementAndGet();
+                this.mark(node);
+                this.find(key, preds, succs);
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Returns the entry of the first node, from the specified one on, that was not removed.
+     * @param node first node to be considered (may be null)
+     * @return see above, or null if there is none
+     */
+    private Entry<K,V> entryFrom(Node<K,V> node) {
+        for (; node != null; node = node.next(0)) {
+            V value = node.value.get();
+            if (value != null)
+                return new EntryClass<>(node.key, value);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first node of the lowest level, not yet removed, whose key is
+     * greater than the specified key (or equal to it, if inclusive).
+     * A null key stands below every key.
+     * @param key to be searched
+     * @param inclusive true if the node with the key may be returned
+     * @return see above, or null if there is none
+     */
+    Node<K,V> ceilingNode(K key, boolean inclusive) {
+        boolean[] marked = {false};
+        Node<K,V> node = (key == null ? head : this.predecessor(key, !inclusive)).next(0);
+        // O predecessor pode ter sido removido entretanto: os nós a seguir podem ter chaves menores.
+        while (node != null) {
+            Node<K,V> succ = node.next[0].get(marked);
+            if (!marked[0] && (key == null || !before(node.key, key, !inclusive)))
+                return node;
+            node = succ;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the entry with the largest key less than the specified key
+     * (or equal to it, if inclusive). A null key stands above every key.
+     * @param key to be searched
+     * @param inclusive true if the entry with the key may be returned
+     * @return see above, or null if there is none
+     */
+    Entry<K,V> floorEntry(K key, boolean inclusive) {
+        while (true) {
+            Node<K,V> node = this.predecessor(key, inclusive);
+            if (node == head)
+                return null;
+            V value = node.value.get();
+            if (value != null)
+                return new EntryClass<>(node.key, value);
+            key = node.key;
+            inclusive = false;
+        }
+    }
+
+    @Override
+    public Entry<K,V> minEntry() throws EmptyDictionaryException {
+        Entry<K,V> entry = this.entryFrom(head.next(0));
+        if (entry == null)
+            throw new EmptyDictionaryException();
+        return entry;
+    }
+
+    @Override
+    public Entry<K,V> maxEntry() throws EmptyDictionaryException {
+        Entry<K,V> entry = this.floorEntry(null, true);
+        if (entry == null)
+            throw new EmptyDictionaryException();
+        return entry;
+    }
+
+    @Override
+    public Entry<K,V> floorEntry(K key) {
+        return this.floorEntry(key, true);
+    }
+
+    @Override
+    public Entry<K,V> ceilingEntry(K key) {
+        return this.entryFrom(this.ceilingNode(key, true));
+    }
+
+    @Override
+    public Entry<K,V> higherEntry(K key) {
+        return this.entryFrom(this.ceilingNode(key, false));
+    }
+
+    @Override
+    public Entry<K,V> lowerEntry(K key) {
+        return this.floorEntry(key, false);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return this.iterator(null, null);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator(K from, K to) {
+        return new ConcurrentSkipListIterator<>(this, from, to, false);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> descendingIterator(K from, K to) {
+        return new ConcurrentSkipListIterator<>(this, from, to, true);
+    }
+
+    @Override
+    public int rank(K key) {
+        int rank = 0;
+        for (Node<K,V> node = head.next(0); node != null && node.key.compareTo(key) < 0; node = node.next(0))
+            if (node.value.get() != null)
+                rank++;
+        return rank;
+    }
+
+    @Override
+    public Entry<K,V> select(int position) throws InvalidPositionException {
+        if (position >= 0)
+            for (Node<K,V> node = head.next(0); node != null; node = node.next(0)) {
+                V value = node.value.get();
+                if (value != null && position-- == 0)
+                    return new EntryClass<>(node.key, value);
+            }
+        throw new InvalidPositionException();
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator(int fromIndex) throws InvalidPositionException {
+        if (fromIndex == this.size() && fromIndex >= 0)
+            return new ConcurrentSkipListIterator<>(this, null, null, false, true);
+        return this.iterator(this.select(fromIndex).getKey(), null);
+    }
+
+    // The nodes cannot be stored: only the entries are, and the list is rebuilt on load.
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        Iterator<Entry<K,V>> it = this.iterator();
+        while (it.hasNext()) {
+            Entry<K,V> entry = it.next();
+            out.writeObject(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
+        out.writeObject(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.initialize();
+        K key;
+        while ((key = (K) in.readObject()) != null)
+            this.insert(key, (V) in.readObject());
+    }
+}
@@ -0,0 +1,119 @@
+package dataStructures;
+
+/**
+ * Weakly consistent iterator of the entries of a range of a concurrent skip list,
+ * in increasing or decreasing key order.
+ * Going up, walks the lowest level of the list, skipping the removed nodes;
+ * going down, searches the entry before the last one returned.
+ * @author AED team
+ * @version 1.0
+ * @param <K> Generic type Key, must extend comparable
+ * @param <V> Generic type Value
+ */
+class ConcurrentSkipListIterator<K extends Comparable<K>, V> implements Iterator<Entry<K,V>> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * The list being iterated.
+     */
+    private transient ConcurrentSkipList<K,V> list;
+
+    /**
+     * Smallest key of the range (null if the range has no lower bound).
+     */
+    private K from;
+
+    /**
+     * Largest key of the range (null if the range has no upper bound).
+     */
+    private K to;
+
+    /**
+     * True if the iteration goes from the largest key down.
+     */
+    private boolean descending;
+
+    /**
+     * True if the iteration has no entries.
+     */
+    private boolean empty;
+
+    /**
+     * Next entry to be returned (null if there is none).
+     */
+    private transient Entry<K,V> nextEntry;
+
+    /**
+     * Node of the next entry, when going up.
+     */
+    private transient ConcurrentSkipList.Node<K,V> nextNode;
+
+    public ConcurrentSkipListIterator(ConcurrentSkipList<K,V> list, K from, K to, boolean descending, boolean empty) {
+        this.list = list;
+        this.from = from;
+        this.to = to;
+        this.descending = descending;
+        this.empty = empty;
+        rewind();
+    }
+
+    public ConcurrentSkipListIterator(ConcurrentSkipList<K,V> list, K from, K to, boolean descending) {
+        this(list, from, to, descending, false);
+    }
+
+    /**
+     * Advances to the first node, from the specified one on, that was not removed
+     * and does not go beyond the upper bound.
+     * @param node first node to be considered (may be null)
+     */
+    private void advance(ConcurrentSkipList.Node<K,V> node) {
+        for (; node != null && (to == null || node.key.compareTo(to) <= 0); node = node.next(0)) {
+            V value = node.value.get();
+            if (value != null) {
+                nextNode = node;
+                nextEntry = new EntryClass<>(node.key, value);
+                return;
+            }
+        }
+        nextNode = null;
+        nextEntry = null;
+    }
+
+    /**
+     * Keeps the specified entry as the next one, if it does not go below the lower bound.
+     * @param entry found going down (may be null)
+     */
+    private void retreat(Entry<K,V> entry) {
+        nextEntry = entry == null || (from != null && entry.getKey().compareTo(from) < 0) ? null : entry;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextEntry != null;
+    }
+
+    @Override
+    public Entry<K,V> next() throws NoSuchElementException {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Entry<K,V> entry = nextEntry;
+        if (descending)
+            this.retreat(list.floorEntry(entry.getKey(), false));
+        else
+            this.advance(nextNode.next(0));
+        return entry;
+    }
+
+    @Override
+    public void rewind() {
+        nextNode = null;
+        nextEntry = null;
+        if (empty || (from != null && to != null && from.compareTo(to) > 0))
+            return;
+        if (descending)
+            this.retreat(list.floorEntry(to, true));
+        else
+            this.advance(list.ceilingNode(from, true));
+    }
+}
@@ -1,6 +1,12 @@
 package dataStructures; 
 
 import java.io.Serializable;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
 
 /**
  * Dictionary Abstract Data Type 
@@ -62,6 +68,120 @@ public interface Dictionary<K,V> extends Serializable
      */
     Iterator<Entry<K,V>> iterator( );  
 
+    /**
+     * Computes the value of the specified key from its current value
+     * (null if there is no entry with that key): if the result is null the
+     * entry is removed, otherwise it is inserted or replaced.
+     * By default it finds the key and then updates it; dictionaries that can
+     * update the place where the search ended override it, so that each of
+     * the operations below takes a single search.
+     * The remapping function must not change the dictionary.
+     * @param key whose value is to be computed
+     * @param remapping computes the new value from the key and the current value
+     * @return new value associated with key, or null if there is none
+     */
+    default V compute( K key, BiFunction<? super K, ? super V, ? extends V> remapping )
+    {
+        V oldValue = this.find(key);
+        V value = remapping.apply(key, oldValue);
+        if ( value == null ) {
+            if ( oldValue != null )
+                this.remove(key);
+        }
+        else if ( value != oldValue )
+            this.insert(key, value);
+        return value;
+    }
+
+    /**
+     * If there is no entry with the specified key, inserts the entry
+     * (key, mapping(key)), unless the mapping returns null.
+     * @param key whose value is to be returned
+     * @param mapping computes the value of an absent key
+     * @return current (existing or computed) value associated with key, or null
+     */
+    default V computeIfAbsent( K key, Function<? super K, ? extends V> mapping )
+    {
+        return this.compute(key, (k, oldValue) -> oldValue != null ? oldValue : mapping.apply(k));
+    }
+
+    /**
+     * If there is no entry with the specified key, inserts the entry (key, value).
+     * @param key with which the value is to be associated
+     * @param value to be associated with the key, not null
+     * @return value already associated with key, or null if the entry was inserted
+     */
+    @SuppressWarnings("unchecked")
+    default V putIfAbsent( K key, V value )
+    {
+        Object[] previous = new Object[1];
+        this.compute(key, (k, oldValue) -> {
+            previous[0] = oldValue;
+            return oldValue != null ? oldValue : value;
+        });
+        return (V) previous[0];
+    }
+
+    /**
+     * If there is no entry with the specified key, inserts the entry (key, value);
+     * otherwise replaces its value by remapping(old value, value), or removes
+     * the entry if that is null.
+     * @param key with which the value is to be associated
+     * @param value to be inserted or merged, not null
+     * @param remapping merges the current value with value
+     * @return new value associated with key, or null if there is none
+     */
+    default V merge( K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping )
+    {
+        return this.compute(key, (k, oldValue) -> oldValue == null ? value : remapping.apply(oldValue, value));
+    }
+
+    /**
+     * Returns a spliterator of the entries in the dictionary.
+     * By default it splits off batches of the iterator, and its size is only
+     * an estimate; dictionaries that can split their structure override it.
+     * @return spliterator of the entries in the dictionary
+     */
+    default Spliterator<Entry<K,V>> spliterator( )
+    {
+        return new IteratorSpliterator<>(this.iterator(), this.size(), Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Performs the specified action on every entry of the dictionary, in iterator order.
+     * @param action to be performed on each entry
+     */
+    default void forEach( Consumer<? super Entry<K,V>> action )
+    {
+        Iterator<Entry<K,V>> it = this.iterator();
+        while ( it.hasNext() )
+            action.accept(it.next());
+    }
+
+    /**
+     * Performs the specified action on every entry of the dictionary, in parallel.
+     * The dictionary must not be changed while the action runs.
+     * @param action to be performed on each entry, safe to run in several threads
+     */
+    default void parallelForEach( Consumer<? super Entry<K,V>> action )
+    {
+        StreamSupport.stream(this.spliterator(), true).forEach(action);
+    }
+
+    /**
+     * Folds the entries of the dictionary, in parallel: each part of the
+     * dictionary is accumulated from the identity and the results are combined.
+     * The dictionary must not be changed while the reduction runs.
+     * @param identity neutral value of the combiner
+     * @param accumulator adds an entry to a partial result
+     * @param combiner joins two partial results
+     * @return result of the reduction
+     */
+    default <T> T reduce( T identity, BiFunction<T, ? super Entry<K,V>, T> accumulator, BinaryOperator<T> combiner )
+    {
+        return StreamSupport.stream(this.spliterator(), true).reduce(identity, accumulator, combiner);
+    }
+
 } 
 
 
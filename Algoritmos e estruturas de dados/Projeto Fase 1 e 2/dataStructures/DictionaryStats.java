@@ -0,0 +1,236 @@
+package dataStructures;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters of the operations of an instrumented structure.
+ * Instrumentation is off unless the JVM is started with
+ * <code>-DdataStructures.stats=true</code>; ENABLED is a constant, so the
+ * JIT removes the updates of the counters when it is off.
+ * The counters are not synchronized: they belong to structures that are
+ * used by one thread at a time, and are only meant to be read as estimates.
+ * @author AED team
+ * @version 1.0
+ */
+public class DictionaryStats implements DictionaryStatsMBean {
+
+    /**
+     * True iff the structures update their counters.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("dataStructures.stats");
+
+    /**
+     * Bytes of an object header and of a reference (or int) field,
+     * with compressed references.
+     */
+    private static final int HEADER = 12, FIELD = 4, ARRAY_HEADER = 16;
+
+    /**
+     * The structure the counters belong to.
+     */
+    private final Instrumented owner;
+
+    private long finds, probes, inserts, removes, rotations, rehashes, rehashNanos;
+
+    private int maxProbes;
+
+    private ObjectName name;
+
+    public DictionaryStats( Instrumented owner )
+    {
+        this.owner = owner;
+    }
+
+    /**
+     * Returns the estimated size of an object with the specified number of
+     * reference or int fields.
+     * @param fields number of fields
+     * @return bytes of the object, aligned to 8 bytes
+     */
+    public static long objectBytes( int fields )
+    {
+        return align(HEADER + (long) FIELD * fields);
+    }
+
+    /**
+     * Returns the estimated size of an array of references or ints.
+     * @param length of the array
+     * @return bytes of the array, aligned to 8 bytes
+     */
+    public static long arrayBytes( int length )
+    {
+        return align(ARRAY_HEADER + (long) FIELD * length);
+    }
+
+    private static long align( long bytes )
+    {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Records a search that examined the specified number of entries.
+     * @param examined number of entries (or slots, or nodes) examined
+     */
+    public void recordFind( int examined )
+    {
+        finds++;
+        probes += examined;
+        if ( examined > maxProbes )
+            maxProbes = examined;
+    }
+
+    public void recordInsert( )
+    {
+        inserts++;
+    }
+
+    public void recordRemove( )
+    {
+        removes++;
+    }
+
+    public void recordRotation( )
+    {
+        rotations++;
+    }
+
+    /**
+     * Records time spent rehashing.
+     * @param nanos duration of the work
+     * @param started true if the work started a new rehash
+     */
+    public void recordRehash( long nanos, boolean started )
+    {
+        if ( started )
+            rehashes++;
+        rehashNanos += nanos;
+    }
+
+    @Override
+    public long getFinds( )
+    {
+        return finds;
+    }
+
+    @Override
+    public double getAverageProbes( )
+    {
+        return finds == 0 ? 0 : (double) probes / finds;
+    }
+
+    @Override
+    public int getMaxProbes( )
+    {
+        return maxProbes;
+    }
+
+    @Override
+    public long getInserts( )
+    {
+        return inserts;
+    }
+
+    @Override
+    public long getRemoves( )
+    {
+        return removes;
+    }
+
+    @Override
+    public long getRotations( )
+    {
+        return rotations;
+    }
+
+    @Override
+    public double getRotationsPerUpdate( )
+    {
+        long updates = inserts + removes;
+        return updates == 0 ? 0 : (double) rotations / updates;
+    }
+
+    @Override
+    public long getRehashes( )
+    {
+        return rehashes;
+    }
+
+    @Override
+    public double getRehashMillis( )
+    {
+        return rehashNanos / 1e6;
+    }
+
+    @Override
+    public int[] getBucketHistogram( )
+    {
+        return owner.bucketHistogram();
+    }
+
+    @Override
+    public long getRetainedBytes( )
+    {
+        return owner.retainedBytes();
+    }
+
+    @Override
+    public void reset( )
+    {
+        finds = probes = inserts = removes = rotations = rehashes = rehashNanos = 0;
+        maxProbes = 0;
+    }
+
+    /**
+     * Registers the statistics in the platform MBean server,
+     * as dataStructures:type=DictionaryStats,name=<code>name</code>.
+     * @param name of the structure
+     * @throws IllegalStateException if the registration fails
+     */
+    public synchronized void register( String name )
+    {
+        try {
+            ObjectName objectName = new ObjectName("dataStructures:type=DictionaryStats,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.name = objectName;
+        }
+        catch ( JMException e ) {
+            throw new IllegalStateException("Cannot register " + name, e);
+        }
+    }
+
+    /**
+     * Removes the statistics from the platform MBean server, if registered.
+     */
+    public synchronized void unregister( )
+    {
+        if ( name == null )
+            return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+        catch ( JMException e ) {
+            // Já não estava registado.
+        }
+        name = null;
+    }
+
+    @Override
+    public String toString( )
+    {
+        StringBuilder s = new StringBuilder();
+        s.append(String.format("finds=%d avgProbes=%.2f maxProbes=%d", finds, this.getAverageProbes(), maxProbes));
+        s.append(String.format(" inserts=%d removes=%d", inserts, removes));
+        if ( rotations > 0 )
+            s.append(String.format(" rotations=%d (%.2f/update)", rotations, this.getRotationsPerUpdate()));
+        if ( rehashes > 0 )
+            s.append(String.format(" rehashes=%d (%.3f ms)", rehashes, this.getRehashMillis()));
+        int[] histogram = owner.bucketHistogram();
+        if ( histogram != null )
+            s.append(" buckets=").append(Arrays.toString(histogram));
+        return s.append(" retained=").append(owner.retainedBytes()).append('B').toString();
+    }
+
+}
@@ -0,0 +1,34 @@
+package dataStructures;
+
+/**
+ * Management interface of the statistics of a structure, read through JMX.
+ * @author AED team
+ * @version 1.0
+ */
+public interface DictionaryStatsMBean {
+
+    long getFinds( );
+
+    double getAverageProbes( );
+
+    int getMaxProbes( );
+
+    long getInserts( );
+
+    long getRemoves( );
+
+    long getRotations( );
+
+    double getRotationsPerUpdate( );
+
+    long getRehashes( );
+
+    double getRehashMillis( );
+
+    int[] getBucketHistogram( );
+
+    long getRetainedBytes( );
+
+    void reset( );
+
+}
@@ -2,6 +2,7 @@ package dataStructures;
 
 import java.io.IOException;
 import java.io.Serial;
+import java.util.Spliterator;
 
 /**
  * Doubly linked list Implementation
@@ -60,6 +61,11 @@ public class DoubleList<E> implements List<E> {
         return new DoubleListIterator<E>(head, tail);
     }
 
+    @Override
+    public Spliterator<E> spliterator() {
+        return new DoubleListSpliterator<>(head, currentSize);
+    }
+
     @Override
     public E getFirst() throws EmptyListException {
         if (this.isEmpty())
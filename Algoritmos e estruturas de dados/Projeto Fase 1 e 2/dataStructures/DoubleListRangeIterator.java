@@ -0,0 +1,71 @@
+package dataStructures;
+
+/**
+ * Iterator of the elements between two nodes of a double linked list,
+ * both inclusive, forwards or backwards.
+ * @author AED  Team
+ * @version 1.0
+ * @param <E> Generic Element
+ */
+class DoubleListRangeIterator<E> implements Iterator<E>
+{
+
+	/**
+	 * Serial Version UID of the Class
+	 */
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Node with the first element of the range (null if the range is empty).
+     */
+    protected DoubleListNode<E> firstNode;
+
+    /**
+     * Node with the last element of the range (null if the range is empty).
+     */
+    protected DoubleListNode<E> lastNode;
+
+    /**
+     * True if the iteration goes from lastNode back to firstNode.
+     */
+    protected boolean backwards;
+
+    /**
+     * Node with the next element in the iteration.
+     */
+    protected DoubleListNode<E> nextToReturn;
+
+    public DoubleListRangeIterator( DoubleListNode<E> first, DoubleListNode<E> last, boolean backwards )
+    {
+        firstNode = first;
+        lastNode = last;
+        this.backwards = backwards;
+        this.rewind();
+    }
+
+    @Override
+    public void rewind( )
+    {
+        nextToReturn = backwards ? lastNode : firstNode;
+    }
+
+    @Override
+    public boolean hasNext( )
+    {
+        return nextToReturn != null;
+    }
+
+    @Override
+    public E next( ) throws NoSuchElementException
+    {
+        if ( !this.hasNext() )
+            throw new NoSuchElementException();
+
+        DoubleListNode<E> node = nextToReturn;
+        if ( backwards )
+            nextToReturn = node == firstNode ? null : node.getPrevious();
+        else
+            nextToReturn = node == lastNode ? null : node.getNext();
+        return node.getElement();
+    }
+}
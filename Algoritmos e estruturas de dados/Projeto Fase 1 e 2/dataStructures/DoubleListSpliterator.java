@@ -0,0 +1,76 @@
+package dataStructures;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator of a segment of a doubly linked list, in list order.
+ * Splitting walks to the middle of the segment, so it costs half the
+ * length of the segment, and every estimate is exact.
+ * @author AED  Team
+ * @version 1.0
+ * @param <E> Generic Element
+ */
+class DoubleListSpliterator<E> implements Spliterator<E>
+{
+
+    /**
+     * Node with the next element of the segment.
+     */
+    private DoubleListNode<E> nextNode;
+
+    /**
+     * Elements of the segment not yet returned.
+     */
+    private int remaining;
+
+    DoubleListSpliterator( DoubleListNode<E> first, int size )
+    {
+        nextNode = first;
+        remaining = size;
+    }
+
+    @Override
+    public boolean tryAdvance( Consumer<? super E> action )
+    {
+        if ( remaining == 0 )
+            return false;
+        E element = nextNode.getElement();
+        nextNode = nextNode.getNext();
+        remaining--;
+        action.accept(element);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining( Consumer<? super E> action )
+    {
+        while ( this.tryAdvance(action) )
+            ;
+    }
+
+    @Override
+    public Spliterator<E> trySplit( )
+    {
+        int half = remaining / 2;
+        if ( half == 0 )
+            return null;
+        Spliterator<E> prefix = new DoubleListSpliterator<>(nextNode, half);
+        for ( int i = 0; i < half; i++ )
+            nextNode = nextNode.getNext();
+        remaining -= half;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize( )
+    {
+        return remaining;
+    }
+
+    @Override
+    public int characteristics( )
+    {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
@@ -58,6 +58,19 @@ public abstract class HashTable<K,V> implements Dictionary<K,V>
     }
 
 
+    /**
+     * Mixes the bits of a hash code, so that the low order bits
+     * used to choose the home slot of a power of two table depend on the whole hash code.
+     * @param h hash code
+     * @return mixed hash code
+     */
+    protected static int spread( int h )
+    {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+
 	/**
 	 * Prime numbers between 11 and Integer.MAX_VALUE.
 	 */
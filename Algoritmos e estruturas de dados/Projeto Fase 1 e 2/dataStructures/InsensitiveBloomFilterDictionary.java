@@ -0,0 +1,28 @@
+package dataStructures;
+
+/**
+ * Bloom filter decorator of a dictionary whose String keys are case insensitive.
+ * @author AED  Team
+ * @version 1.0
+ * @param <V> Generic Value
+ */
+public class InsensitiveBloomFilterDictionary<V> extends BloomFilterDictionary<String,V> {
+
+    /**
+     * Serial Version UID of the Class.
+     */
+    private static final long serialVersionUID = 0L;
+
+    public InsensitiveBloomFilterDictionary(Dictionary<String,V> dictionary, int expected, double falsePositiveRate) {
+        super(dictionary, expected, falsePositiveRate);
+    }
+
+    public InsensitiveBloomFilterDictionary(Dictionary<String,V> dictionary) {
+        super(dictionary);
+    }
+
+    @Override
+    protected int hash(String key) {
+        return InsensitiveKey.hashOf(key);
+    }
+}
@@ -0,0 +1,34 @@
+package dataStructures;
+
+/**
+ * Compact hash table whose String keys are case insensitive.
+ * Drop-in replacement for InsensitiveSepChainHashTable.
+ * @author AED  Team
+ * @version 1.0
+ * @param <V> Generic Value
+ */
+public class InsensitiveCompactHashTable<V> extends CompactHashTable<String,V> {
+
+    /**
+     * Serial Version UID of the Class.
+     */
+    private static final long serialVersionUID = 0L;
+
+    public InsensitiveCompactHashTable(int capacity) {
+        super(capacity);
+    }
+
+    public InsensitiveCompactHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    @Override
+    protected int hash(String key) {
+        return spread(InsensitiveKey.hashOf(key));
+    }
+
+    @Override
+    protected boolean sameKey(String stored, String key) {
+        return InsensitiveKey.equals(stored, key);
+    }
+}
@@ -0,0 +1,37 @@
+package dataStructures;
+
+/**
+ * Concurrent hash table whose String keys are case insensitive.
+ * @author AED  Team
+ * @version 1.0
+ * @param <V> Generic Value
+ */
+public class InsensitiveConcurrentSepChainHashTable<V> extends ConcurrentSepChainHashTable<String,V> {
+
+    /**
+     * Serial Version UID of the Class.
+     */
+    private static final long serialVersionUID = 0L;
+
+    public InsensitiveConcurrentSepChainHashTable(int capacity, int stripes) {
+        super(capacity, stripes);
+    }
+
+    public InsensitiveConcurrentSepChainHashTable(int capacity) {
+        super(capacity);
+    }
+
+    public InsensitiveConcurrentSepChainHashTable() {
+        super();
+    }
+
+    @Override
+    protected int hash(String key) {
+        return HashTable.spread(InsensitiveKey.hashOf(key));
+    }
+
+    @Override
+    protected boolean sameKey(String stored, String key) {
+        return InsensitiveKey.equals(stored, key);
+    }
+}
@@ -0,0 +1,133 @@
+package dataStructures;
+
+import java.io.Serializable;
+
+/**
+ * Case insensitive key.
+ * Keeps the original name together with its case folded form and the hash
+ * code of that form, so that keys can be compared and hashed repeatedly
+ * without creating new strings.
+ * The static methods apply the same folding to plain strings, character by
+ * character, also without creating new strings.
+ * @author AED  Team
+ * @version 1.0
+ */
+public final class InsensitiveKey implements Comparable<InsensitiveKey>, Serializable {
+
+    /**
+     * Serial Version UID of the Class.
+     */
+    static final long serialVersionUID = 0L;
+
+    /**
+     * The name, as given.
+     */
+    private final String name;
+
+    /**
+     * The name with every character in upper case.
+     */
+    private final String folded;
+
+    /**
+     * Hash code of the folded name.
+     */
+    private final int hash;
+
+    public InsensitiveKey(String name) {
+        this.name = name;
+        this.folded = fold(name);
+        this.hash = folded.hashCode();
+    }
+
+    /**
+     * Returns the name, as given.
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns true iff the specified string is equal to this key, ignoring case.
+     * @param other string to be compared
+     * @return true if the string denotes this key
+     */
+    public boolean matches(String other) {
+        return equals(folded, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InsensitiveKey other)) return false;
+        return hash == other.hash && folded.equals(other.folded);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public int compareTo(InsensitiveKey other) {
+        return folded.compareTo(other.folded);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Returns the hash code of the specified string, ignoring case.
+     * Equal to the hash code of the folded string.
+     * @param s string to be encoded
+     * @return case insensitive hash code
+     */
+    public static int hashOf(String s) {
+        int h = 0;
+        for (int i = 0; i < s.length(); i++)
+            h = 31 * h + Character.toUpperCase(s.charAt(i));
+        return h;
+    }
+
+    /**
+     * Compares two strings, ignoring case.
+     * @param a first string
+     * @param b second string
+     * @return negative, zero or positive as a is less than, equal to or greater than b
+     */
+    public static int compare(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char ca = Character.toUpperCase(a.charAt(i));
+            char cb = Character.toUpperCase(b.charAt(i));
+            if (ca != cb)
+                return ca - cb;
+        }
+        return a.length() - b.length();
+    }
+
+    /**
+     * Returns true iff both strings are equal, ignoring case.
+     * @param a first string
+     * @param b second string
+     * @return true if the strings are equal ignoring case
+     */
+    public static boolean equals(String a, String b) {
+        return a.length() == b.length() && compare(a, b) == 0;
+    }
+
+    /**
+     * Returns the folded form of the specified string.
+     * @param s string to be folded
+     * @return string with every character in upper case
+     */
+    private static String fold(String s) {
+        char[] chars = new char[s.length()];
+        for (int i = 0; i < chars.length; i++)
+            chars[i] = Character.toUpperCase(s.charAt(i));
+        return new String(chars);
+    }
+}
@@ -10,45 +10,57 @@ public class InsensitiveOrderedDoubleList<V> extends OrderedDoubleList<String,V>
 	public InsensitiveOrderedDoubleList() {
          super();
      }
+    /**
+     * Returns the first node whose key is not less than key, ignoring case,
+     * or null if there is none.
+     * @param key - Key to be searched
+     * @return DoubleListNode where the key was found, or the one with the key immediately after
+     */
     protected DoubleListNode<Entry<String,V>> findNode (String key){
-         DoubleListNode<Entry<String, V>> currentNode = head;
-        while (currentNode != null && !(currentNode.getElement().getKey().toUpperCase().compareTo(key.toUpperCase()) == 0)) {
+        DoubleListNode<Entry<String, V>> currentNode = head;
+        while (currentNode != null && InsensitiveKey.compare(currentNode.getElement().getKey(), key) < 0) {
             currentNode = currentNode.getNext();
         }
         return currentNode;
     }
+
+    protected int compareKeys(String a, String b) {
+        return InsensitiveKey.compare(a, b);
+    }
+
+    /**
+     * Returns true iff the node holds the entry with the specified key, ignoring case.
+     */
+    private boolean hasKey(DoubleListNode<Entry<String,V>> node, String key) {
+        return node != null && InsensitiveKey.equals(node.getElement().getKey(), key);
+    }
+
+    public V find(String key) {
+        DoubleListNode<Entry<String,V>> node = findNode(key);
+        if (!hasKey(node, key))
+            return null;
+        return node.getElement().getValue();
+    }
+
     public V insert(String key, V value) {
         DoubleListNode<Entry<String,V>> node = findNode(key);
-        if ((node!=null) && (node.getElement().getKey().toUpperCase().compareTo(key.toUpperCase())==0)){
+        if (hasKey(node, key)){
             V lastValue = node.getElement().getValue();
             node.setElement(new EntryClass<>(key,value));
             return lastValue;
         }
-        else {
-            Entry<String,V> newNode=new EntryClass<String,V> (key, value);
-            if(this.isEmpty()){
-                addFirst(newNode);
-            }else{
-                DoubleListNode<Entry<String,V>> current = head;
-                while(current != null){
-                    if(key.compareTo(current.getElement().getKey()) < 0){
-                        if(current==head) {
-                            addFirst(newNode);
-                            return null;
-                        }
-                        addBeforeNode(newNode, current);
-                        return null;
-                    }
-                    current = current.getNext();
-                }
-                addLast(newNode);
-            }
-            return null;
-        }
+        Entry<String,V> newNode=new EntryClass<String,V> (key, value);
+        if (node == null)
+            addLast(newNode);
+        else if (node == head)
+            addFirst(newNode);
+        else
+            addBeforeNode(newNode, node);
+        return null;
     }
     public V remove(String key) {
         DoubleListNode<Entry<String,V>> node = findNode(key);
-        if ((node == null) || (node.getElement().getKey().toUpperCase().compareTo(key.toUpperCase())!=0))
+        if (!hasKey(node, key))
             return null;
         else {
             if(node == head){
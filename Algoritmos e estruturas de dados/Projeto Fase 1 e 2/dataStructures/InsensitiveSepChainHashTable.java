@@ -12,66 +12,22 @@ public class InsensitiveSepChainHashTable<V> extends SepChainHashTable <String,V
 	 */
 	private static final long serialVersionUID = 0L;
 
-	@SuppressWarnings("unchecked")
     public InsensitiveSepChainHashTable( int capacity )
     {
-        int arraySize = HashTable.nextPrime((int) (1.1 * capacity));
-        table = (Dictionary<String,V>[]) new Dictionary[arraySize];
-        for ( int i = 0; i < arraySize; i++ )
-            table[i] = new InsensitiveOrderedDoubleList<>();
-        maxSize = capacity;
-        currentSize = 0;
+        super(capacity);
     }
     public InsensitiveSepChainHashTable(){
         this(DEFAULT_CAPACITY);
     }
 
-    protected int hash( String key ) {
-        return Math.abs( key.toUpperCase().hashCode() ) % table.length;
-    }
-
-    public V insert( String key, V value )
-    {
-        if(this.isFull())
-            this.rehash();
-        V oldValue = table[ this.hash(key) ].insert(key, value);
-        if( oldValue == null)
-            currentSize++;
-        return oldValue;
-    }
-    public V find( String key )
-    {
-        return table[ this.hash(key) ].find(key);
+    protected Dictionary<String,V> newBucket() {
+        return new InsensitiveOrderedDoubleList<>();
     }
 
-    public V remove( String key )
-    {
-        V value = table[this.hash(key)].remove(key);
-        if(value != null)
-            currentSize--;
-        return value;
+    protected int hash( String key, int length ) {
+        return Math.abs( InsensitiveKey.hashOf(key) ) % length;
     }
 
-    @SuppressWarnings("unchecked")
-    private void rehash(){
-        //igual ao construtor mas o arraySize aumenta para 2 vezes mais
-        int arraySize = HashTable.nextPrime((int)(1.1 * currentSize * 2));
-        Dictionary<String,V>[] newTable = (Dictionary<String, V>[])new Dictionary[arraySize];
-        for( int i = 0; i < arraySize; i++ )
-            newTable[i] = new InsensitiveOrderedDoubleList<>();
-
-        // Iterar a table existente e meter as entrys na nova table nos seus respetivos/novos index
-        for(int i = 0; i < table.length; i++ ){
-            Iterator<Entry<String,V>> it = table[i].iterator();
-            while(it.hasNext()){
-                Entry<String,V> entry = it.next();
-                int index = Math.abs(entry.getKey().toUpperCase().hashCode() ) % newTable.length;
-                newTable[index].insert(entry.getKey(), entry.getValue());
-            }
-        }
-        maxSize *= 2;
-        table = newTable;
-    }
     // Serialização: salva o estado da tabela
     @Serial
     private void writeObject(ObjectOutputStream oos) throws IOException {
@@ -85,6 +41,7 @@ public class InsensitiveSepChainHashTable<V> extends SepChainHashTable <String,V
     }
 
     // Desserialização: restaura o estado da tabela
+    // As entradas são redistribuídas, pois a tabela pode ter sido gravada com outra função de hash
     @SuppressWarnings("unchecked")
     @Serial
     private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
@@ -92,9 +49,16 @@ public class InsensitiveSepChainHashTable<V> extends SepChainHashTable <String,V
         maxSize = ois.readInt();
         currentSize = ois.readInt();
         int arrayLength = ois.readInt();
-        table = (Dictionary<String, V>[]) new Dictionary[arrayLength];
+        table = this.newTable(maxSize);
         for (int i = 0; i < arrayLength; i++) {
-            table[i] = (Dictionary<String, V>) ois.readObject();
+            Dictionary<String, V> bucket = (Dictionary<String, V>) ois.readObject();
+            if (bucket == null)
+                continue;
+            Iterator<Entry<String, V>> it = bucket.iterator();
+            while (it.hasNext()) {
+                Entry<String, V> entry = it.next();
+                this.tableBucket(this.hash(entry.getKey())).insert(entry.getKey(), entry.getValue());
+            }
         }
     }
 
@@ -0,0 +1,33 @@
+package dataStructures;
+
+/**
+ * Structure that keeps statistics about its own operations.
+ * The counters are only updated when DictionaryStats.ENABLED is true;
+ * the histogram and the footprint are computed when asked for.
+ * @author AED team
+ * @version 1.0
+ */
+public interface Instrumented {
+
+    /**
+     * Returns the statistics of the structure.
+     * @return statistics of the structure
+     */
+    DictionaryStats stats( );
+
+    /**
+     * Returns how many buckets hold each number of entries: position i holds
+     * the number of buckets with i entries (for open addressing, the number
+     * of entries i slots away from their home slot).
+     * @return histogram of the bucket lengths, or null if there are no buckets
+     */
+    int[] bucketHistogram( );
+
+    /**
+     * Returns an estimate of the memory held by the structure, in bytes,
+     * on a 64-bit JVM with compressed references. Keys and values are not counted.
+     * @return estimated retained bytes
+     */
+    long retainedBytes( );
+
+}
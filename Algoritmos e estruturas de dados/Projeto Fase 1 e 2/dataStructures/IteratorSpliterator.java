@@ -0,0 +1,35 @@
+package dataStructures;
+
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over an iterator of the package.
+ * Splitting copies batches of elements to arrays, so it only pays off
+ * when the work done with each element is large.
+ * @author AED team
+ * @version 1.0
+ * @param <E> Generic Element
+ */
+class IteratorSpliterator<E> extends Spliterators.AbstractSpliterator<E> {
+
+    private final Iterator<E> iterator;
+
+    /**
+     * @param iterator of the elements, not yet advanced
+     * @param size number of elements (exact if characteristics include SIZED)
+     * @param characteristics of the elements
+     */
+    IteratorSpliterator(Iterator<E> iterator, long size, int characteristics) {
+        super(size, characteristics);
+        this.iterator = iterator;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (!iterator.hasNext())
+            return false;
+        action.accept(iterator.next());
+        return true;
+    }
+}
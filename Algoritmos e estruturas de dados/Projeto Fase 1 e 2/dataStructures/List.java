@@ -1,6 +1,11 @@
 package dataStructures;
 
 import java.io.Serializable;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
 
 /**
  * List (sequence) Abstract Data Type 
@@ -123,6 +128,51 @@ public interface List<E> extends Serializable
      */
     boolean remove( E element );
 
+    /**
+     * Returns a spliterator of the elements of the list, in list order.
+     * By default it splits off batches of the iterator.
+     * @return spliterator of the elements of the list
+     */
+    default Spliterator<E> spliterator( )
+    {
+        return new IteratorSpliterator<>(this.iterator(), this.size(),
+                Spliterator.ORDERED | Spliterator.SIZED);
+    }
+
+    /**
+     * Performs the specified action on every element of the list, in list order.
+     * @param action to be performed on each element
+     */
+    default void forEach( Consumer<? super E> action )
+    {
+        Iterator<E> it = this.iterator();
+        while ( it.hasNext() )
+            action.accept(it.next());
+    }
+
+    /**
+     * Performs the specified action on every element of the list, in parallel.
+     * The list must not be changed while the action runs.
+     * @param action to be performed on each element, safe to run in several threads
+     */
+    default void parallelForEach( Consumer<? super E> action )
+    {
+        StreamSupport.stream(this.spliterator(), true).forEach(action);
+    }
+
+    /**
+     * Folds the elements of the list, in parallel: each segment of the list
+     * is accumulated from the identity and the results are combined in list order.
+     * The list must not be changed while the reduction runs.
+     * @param identity neutral value of the combiner
+     * @param accumulator adds an element to a partial result
+     * @param combiner joins two partial results
+     * @return result of the reduction
+     */
+    default <T> T reduce( T identity, BiFunction<T, ? super E, T> accumulator, BinaryOperator<T> combiner )
+    {
+        return StreamSupport.stream(this.spliterator(), true).reduce(identity, accumulator, combiner);
+    }
 
 }   
 
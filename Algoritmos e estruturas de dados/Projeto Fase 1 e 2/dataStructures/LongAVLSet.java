@@ -0,0 +1,439 @@
+package dataStructures;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Sorted set of primitive long values, kept in an AVL tree whose nodes are
+ * indices of parallel arrays, as in ArrayAVLTree: no boxing, no node and no
+ * entry objects. Freed indices are kept in a free list, linked through the
+ * right child link. When the arrays grow, the nodes are moved so that their
+ * indices follow the order of the values.
+ *
+ * @author AED team
+ * @version 1.0
+ */
+public class LongAVLSet implements Serializable {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Index denoting the absence of a node.
+     */
+    static final int NIL = -1;
+
+    /**
+     * Default number of nodes.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    transient long[] values;
+
+    /**
+     * Links of each node, interleaved: left child, right child, parent and
+     * height (a leaf has height 1) of node n are at indices 4n to 4n+3.
+     */
+    transient int[] links;
+
+    static final int LEFT = 0, RIGHT = 1, PARENT = 2, HEIGHT = 3, LINKS = 4;
+
+    /**
+     * Index of the root (NIL if the set is empty).
+     */
+    transient int root;
+
+    /**
+     * First index of the free list (NIL if the list is empty).
+     */
+    transient int free;
+
+    /**
+     * Number of indices ever used; indices from here on were never used.
+     */
+    transient int used;
+
+    /**
+     * Number of values in the set.
+     */
+    transient int currentSize;
+
+    public LongAVLSet(int capacity) {
+        this.allocate(Math.max(capacity, 1));
+    }
+
+    public LongAVLSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Allocates empty arrays with the specified number of nodes.
+     * @param capacity number of nodes
+     */
+    private void allocate(int capacity) {
+        values = new long[capacity];
+        links = new int[LINKS * capacity];
+        root = NIL;
+        free = NIL;
+        used = 0;
+        currentSize = 0;
+    }
+
+    /**
+     * Returns true iff the set contains no values.
+     * @return true if the set is empty
+     */
+    public boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    /**
+     * Returns the number of values in the set.
+     * @return number of values in the set
+     */
+    public int size() {
+        return currentSize;
+    }
+
+    /**
+     * Returns true iff the set contains the specified value.
+     * @param value to be searched
+     * @return true if the value is in the set
+     */
+    public boolean contains(long value) {
+        int node = root;
+        while (node != NIL) {
+            if (value == values[node])
+                return true;
+            node = value < values[node] ? left(node) : right(node);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the greatest value of the set less than or equal to the specified value.
+     * @param value to be searched
+     * @return greatest value not greater than value, or Long.MIN_VALUE if there is none
+     */
+    public long floor(long value) {
+        long floor = Long.MIN_VALUE;
+        int node = root;
+        while (node != NIL) {
+            if (value == values[node])
+                return value;
+            if (value < values[node])
+                node = left(node);
+            else {
+                floor = values[node];
+                node = right(node);
+            }
+        }
+        return floor;
+    }
+
+    /**
+     * Inserts the specified value, if it is not in the set.
+     * @param value to be inserted
+     * @return true if the value was inserted, false if it was already in the set
+     */
+    public boolean insert(long value) {
+        // Growing moves the nodes, so it is done before the search.
+        if (free == NIL && used == values.length)
+            this.relocate(2 * values.length);
+        if (root == NIL) {
+            root = this.newNode(value, NIL);
+            currentSize++;
+            return true;
+        }
+        int node = root;
+        while (true) {
+            if (value == values[node])
+                return false;
+            int child = value < values[node] ? left(node) : right(node);
+            if (child == NIL)
+                break;
+            node = child;
+        }
+        int newNode = this.newNode(value, node);
+        if (value < values[node])
+            setLeft(node, newNode);
+        else
+            setRight(node, newNode);
+        currentSize++;
+        this.rebalance(node);
+        return true;
+    }
+
+    /**
+     * Removes the specified value, if it is in the set.
+     * @param value to be removed
+     * @return true if the value was removed, false if it was not in the set
+     */
+    public boolean remove(long value) {
+        int node = root;
+        while (node != NIL && value != values[node])
+            node = value < values[node] ? left(node) : right(node);
+        if (node == NIL)
+            return false;
+        this.removeNode(node);
+        return true;
+    }
+
+    /**
+     * Returns an iterator of the values of the set, in increasing order.
+     * @return iterator of the values
+     */
+    public LongIterator iterator() {
+        return new LongAVLSetIterator(this);
+    }
+
+    /**
+     * Moves the nodes to new arrays with the specified number of nodes,
+     * so that their indices follow the order of the values.
+     * @param capacity number of nodes of the new arrays (not less than size)
+     */
+    private void relocate(int capacity) {
+        long[] newValues = new long[capacity];
+        int[] newLinks = new int[LINKS * capacity];
+        int[] index = new int[used];
+        int i = 0;
+        for (int node = root == NIL ? NIL : this.minNode(root); node != NIL; node = this.successor(node))
+            index[node] = i++;
+        for (int node = root == NIL ? NIL : this.minNode(root); node != NIL; node = this.successor(node)) {
+            int n = index[node];
+            newValues[n] = values[node];
+            newLinks[LINKS * n + LEFT] = left(node) == NIL ? NIL : index[left(node)];
+            newLinks[LINKS * n + RIGHT] = right(node) == NIL ? NIL : index[right(node)];
+            newLinks[LINKS * n + PARENT] = parent(node) == NIL ? NIL : index[parent(node)];
+            newLinks[LINKS * n + HEIGHT] = links[LINKS * node + HEIGHT];
+        }
+        if (root != NIL)
+            root = index[root];
+        values = newValues;
+        links = newLinks;
+        free = NIL;
+        used = currentSize;
+    }
+
+    /**
+     * Returns the node with the smallest value in the subtree rooted at the specified node.
+     * Requires: node != NIL.
+     * @param node that roots the subtree
+     * @return node with the smallest value
+     */
+    int minNode(int node) {
+        while (left(node) != NIL)
+            node = left(node);
+        return node;
+    }
+
+    /**
+     * Returns the node that follows the specified node in the order of the values, or NIL.
+     * @param node of the tree
+     * @return next node, or NIL
+     */
+    int successor(int node) {
+        if (right(node) != NIL)
+            return this.minNode(right(node));
+        int p = parent(node);
+        while (p != NIL && node == right(p)) {
+            node = p;
+            p = parent(p);
+        }
+        return p;
+    }
+
+    /**
+     * Takes an index from the free list (or a never used one) and fills it as a leaf.
+     * Requires: the arrays are not full.
+     * @param value of the node
+     * @param p parent of the new node
+     * @return index of the new node
+     */
+    private int newNode(long value, int p) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = right(node);
+        } else
+            node = used++;
+        values[node] = value;
+        setLeft(node, NIL);
+        setRight(node, NIL);
+        setParent(node, p);
+        links[LINKS * node + HEIGHT] = 1;
+        return node;
+    }
+
+    /**
+     * Removes the specified node from the tree and rebalances it.
+     * A node with two children takes the value of its successor,
+     * which is removed instead.
+     * @param node to be removed
+     */
+    private void removeNode(int node) {
+        if (left(node) != NIL && right(node) != NIL) {
+            int min = this.minNode(right(node));
+            values[node] = values[min];
+            node = min;
+        }
+        int child = left(node) != NIL ? left(node) : right(node);
+        int p = parent(node);
+        if (child != NIL)
+            setParent(child, p);
+        this.replaceChild(p, node, child);
+        setRight(node, free);
+        free = node;
+        currentSize--;
+        this.rebalance(p);
+    }
+
+    /**
+     * Makes newChild take the place of oldChild under the specified parent.
+     * @param p parent of oldChild (NIL if oldChild is the root)
+     * @param oldChild current child
+     * @param newChild replacing child
+     */
+    private void replaceChild(int p, int oldChild, int newChild) {
+        if (p == NIL)
+            root = newChild;
+        else if (left(p) == oldChild)
+            setLeft(p, newChild);
+        else
+            setRight(p, newChild);
+    }
+
+    int left(int node) {
+        return links[LINKS * node + LEFT];
+    }
+
+    int right(int node) {
+        return links[LINKS * node + RIGHT];
+    }
+
+    int parent(int node) {
+        return links[LINKS * node + PARENT];
+    }
+
+    private void setLeft(int node, int child) {
+        links[LINKS * node + LEFT] = child;
+    }
+
+    private void setRight(int node, int child) {
+        links[LINKS * node + RIGHT] = child;
+    }
+
+    private void setParent(int node, int p) {
+        links[LINKS * node + PARENT] = p;
+    }
+
+    private int height(int node) {
+        return node == NIL ? 0 : links[LINKS * node + HEIGHT];
+    }
+
+    private void setHeight(int node) {
+        links[LINKS * node + HEIGHT] = 1 + Math.max(this.height(left(node)), this.height(right(node)));
+    }
+
+    /**
+     * Rotates the specified node down to the left.
+     * @param x node whose right child takes its place
+     * @return the node that took the place of x
+     */
+    private int rotateLeft(int x) {
+        int y = right(x);
+        setRight(x, left(y));
+        if (left(y) != NIL)
+            setParent(left(y), x);
+        setParent(y, parent(x));
+        this.replaceChild(parent(x), x, y);
+        setLeft(y, x);
+        setParent(x, y);
+        this.setHeight(x);
+        this.setHeight(y);
+        return y;
+    }
+
+    /**
+     * Rotates the specified node down to the right.
+     * @param x node whose left child takes its place
+     * @return the node that took the place of x
+     */
+    private int rotateRight(int x) {
+        int y = left(x);
+        setLeft(x, right(y));
+        if (right(y) != NIL)
+            setParent(right(y), x);
+        setParent(y, parent(x));
+        this.replaceChild(parent(x), x, y);
+        setRight(y, x);
+        setParent(x, y);
+        this.setHeight(x);
+        this.setHeight(y);
+        return y;
+    }
+
+    /**
+     * Traverses the path from the specified node to the root, recomputing
+     * the heights and applying a single or double rotation where a node is unbalanced.
+     * @param node first node of the path (may be NIL)
+     */
+    private void rebalance(int node) {
+        while (node != NIL) {
+            this.setHeight(node);
+            int balance = this.height(left(node)) - this.height(right(node));
+            if (balance > 1) {
+                if (this.height(left(left(node))) < this.height(right(left(node))))
+                    this.rotateLeft(left(node));
+                node = this.rotateRight(node);
+            } else if (balance < -1) {
+                if (this.height(right(right(node))) < this.height(left(right(node))))
+                    this.rotateRight(right(node));
+                node = this.rotateLeft(node);
+            }
+            node = parent(node);
+        }
+    }
+
+    /**
+     * Builds the subtree with the nodes from low (inclusive) to high (exclusive),
+     * whose values are already in place, rooted at the middle one.
+     * @param low first node of the subtree
+     * @param high node after the last one of the subtree
+     * @param p parent of the subtree
+     * @return root of the subtree, or NIL if it is empty
+     */
+    private int build(int low, int high, int p) {
+        if (low == high)
+            return NIL;
+        int mid = (low + high) >>> 1;
+        setParent(mid, p);
+        setLeft(mid, this.build(low, mid, mid));
+        setRight(mid, this.build(mid + 1, high, mid));
+        this.setHeight(mid);
+        return mid;
+    }
+
+    // Only the values are stored, in increasing order; the tree is rebuilt
+    // on load in linear time, with node indices in the order of the values.
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(currentSize);
+        for (int node = root == NIL ? NIL : this.minNode(root); node != NIL; node = this.successor(node))
+            out.writeLong(values[node]);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int size = in.readInt();
+        this.allocate(Math.max(size, 1));
+        for (int i = 0; i < size; i++)
+            values[i] = in.readLong();
+        root = this.build(0, size, NIL);
+        used = currentSize = size;
+    }
+}
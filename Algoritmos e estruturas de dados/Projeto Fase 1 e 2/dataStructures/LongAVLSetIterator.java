@@ -0,0 +1,46 @@
+package dataStructures;
+
+/**
+ * Iterator of the values of a LongAVLSet, in increasing order.
+ * Moves from node to node through the parent indices, so it needs no stack.
+ * @author AED team
+ * @version 1.0
+ */
+class LongAVLSetIterator implements LongIterator {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * The set being iterated.
+     */
+    private LongAVLSet set;
+
+    /**
+     * Node with the next value to be returned (NIL if there is none).
+     */
+    private int nextNode;
+
+    public LongAVLSetIterator(LongAVLSet set) {
+        this.set = set;
+        rewind();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextNode != LongAVLSet.NIL;
+    }
+
+    @Override
+    public long next() throws NoSuchElementException {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        int node = nextNode;
+        nextNode = set.successor(node);
+        return set.values[node];
+    }
+
+    @Override
+    public void rewind() {
+        nextNode = set.root == LongAVLSet.NIL ? LongAVLSet.NIL : set.minNode(set.root);
+    }
+}
@@ -0,0 +1,36 @@
+package dataStructures;
+
+import java.io.Serializable;
+
+/**
+ * Iterator Abstract Data Type of primitive long values
+ * Includes description of general methods for one way iterator.
+ * @author AED  Team
+ * @version 1.0
+ *
+ */
+public interface LongIterator extends Serializable
+{
+
+    /**
+     * Returns true if next would return an element
+     * rather than throwing an exception.
+     * @return true iff the iteration has more elements
+     */
+	boolean hasNext( );
+
+    /**
+     * Returns the next element in the iteration.
+     * @return the next element in the iteration
+     * @throws NoSuchElementException - if call is made without verifying pre-condition
+     */
+    long next( ) throws NoSuchElementException;
+
+    /**
+     * Restarts the iteration.
+     * After rewind, if the iteration is not empty,
+     * next will return the first element in the iteration.
+     */
+    void rewind( );
+
+}
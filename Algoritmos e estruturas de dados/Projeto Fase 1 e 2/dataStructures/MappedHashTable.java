@@ -0,0 +1,410 @@
+package dataStructures;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Hash table kept in a memory-mapped file, outside the Java heap.
+ * The file holds a header, a table of fixed-size slots and a data area:
+ * each slot has the hash of a key and the offset of its record in the data
+ * area, where the record has the UTF-8 bytes of the key and the bytes of the
+ * value, as given by a codec. Collisions are resolved by linear probing, and
+ * a removed entry leaves a marked slot behind.
+ * Records are only appended: replacing or removing an entry leaves its old
+ * record as garbage. When the slots in use reach half of the table, or the
+ * garbage reaches half of the data area, the live entries are copied to a
+ * new file, which then replaces the old one.
+ * Opening an existing file only maps it, whatever its number of entries;
+ * a value is decoded only when it is found or iterated.
+ * The file must fit in a single mapping (2GB).
+ *
+ * @author AED team
+ * @version 1.0
+ * @param <V> Generic type Value
+ */
+public class MappedHashTable<V> implements Dictionary<String,V>, Closeable {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * First int of the file.
+     */
+    static final int MAGIC = 0x41454448;
+
+    /**
+     * Positions of the fields of the header: magic, number of slots, number of
+     * entries, number of slots in use (entries and removed ones), end of the
+     * data area and number of bytes of garbage.
+     */
+    static final int MAGIC_AT = 0, CAPACITY_AT = 4, SIZE_AT = 8, USED_AT = 12, END_AT = 16, GARBAGE_AT = 24;
+
+    static final int HEADER = 32;
+
+    /**
+     * Bytes of a slot: offset of the record (long) and hash of the key (int), plus padding.
+     */
+    static final int SLOT = 16;
+
+    /**
+     * Offsets of a slot that was never used and of a slot whose entry was removed.
+     */
+    static final long EMPTY = 0, REMOVED = -1;
+
+    /**
+     * Default number of entries the table is created for.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Initial size of the data area.
+     */
+    private static final int MIN_DATA = 1 << 16;
+
+    /**
+     * Path of the file.
+     */
+    private final String path;
+
+    private final ValueCodec<V> codec;
+
+    private transient FileChannel channel;
+
+    /**
+     * The whole file, mapped.
+     */
+    transient MappedByteBuffer buffer;
+
+    /**
+     * Number of slots (a power of 2).
+     */
+    transient int capacity;
+
+    /**
+     * Opens the table kept in the specified file, or creates it
+     * for the specified number of entries if the file does not exist.
+     * @param path of the file
+     * @param capacity number of entries of a new table
+     * @param codec of the values
+     */
+    public MappedHashTable(String path, int capacity, ValueCodec<V> codec) {
+        this.path = path;
+        this.codec = codec;
+        this.open(capacity);
+    }
+
+    public MappedHashTable(String path, ValueCodec<V> codec) {
+        this(path, DEFAULT_CAPACITY, codec);
+    }
+
+    public MappedHashTable(String path) {
+        this(path, new SerializationCodec<>());
+    }
+
+    /**
+     * Returns the number of slots for the specified number of entries,
+     * so that they fill at most a quarter of the table.
+     * @param entries number of entries
+     * @return number of slots
+     */
+    private static int tableCapacity(int entries) {
+        int capacity = 16;
+        while (capacity < 4L * entries)
+            capacity <<= 1;
+        return capacity;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void open(int entries) {
+        try {
+            channel = FileChannel.open(Path.of(path), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+            if (channel.size() == 0) {
+                capacity = tableCapacity(entries);
+                buffer = format(channel, capacity, MIN_DATA);
+            } else
+                this.map();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the whole file and reads the number of slots.
+     */
+    private void map() throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (channel.size() < HEADER || buffer.getInt(MAGIC_AT) != MAGIC)
+            throw new IllegalStateException("Not a hash table file: " + path);
+        capacity = buffer.getInt(CAPACITY_AT);
+    }
+
+    /**
+     * Maps a file with an empty table with the specified number of slots,
+     * followed by a data area of the specified size.
+     * @param channel of the file
+     * @param capacity number of slots
+     * @param dataSize size of the data area
+     * @return the mapped file
+     */
+    private static MappedByteBuffer format(FileChannel channel, int capacity, long dataSize) throws IOException {
+        long dataStart = HEADER + (long) SLOT * capacity;
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                Math.min(dataStart + dataSize, Integer.MAX_VALUE));
+        buffer.putInt(MAGIC_AT, MAGIC);
+        buffer.putInt(CAPACITY_AT, capacity);
+        buffer.putInt(SIZE_AT, 0);
+        buffer.putInt(USED_AT, 0);
+        buffer.putLong(END_AT, dataStart);
+        buffer.putLong(GARBAGE_AT, 0);
+        return buffer;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public int size() {
+        return buffer.getInt(SIZE_AT);
+    }
+
+    @Override
+    public V find(String key) {
+        int slot = this.locate(spread(key.hashCode()), key.getBytes(StandardCharsets.UTF_8));
+        return slot < 0 ? null : this.valueAt(this.offsetAt(slot));
+    }
+
+    @Override
+    public V insert(String key, V value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = codec.encode(value);
+        int hash = spread(key.hashCode());
+        int slot = this.locate(hash, keyBytes);
+        V oldValue = null;
+        if (slot >= 0) {
+            long offset = this.offsetAt(slot);
+            oldValue = this.valueAt(offset);
+            this.addGarbage(this.recordLength(offset));
+        } else {
+            if (2 * (buffer.getInt(USED_AT) + 1) > capacity)
+                this.rebuild(tableCapacity(this.size() + 1));
+            slot = this.freeSlot(hash);
+            if (this.offsetAt(slot) == EMPTY)
+                buffer.putInt(USED_AT, buffer.getInt(USED_AT) + 1);
+            buffer.putInt(SIZE_AT, this.size() + 1);
+        }
+        long offset = this.append(keyBytes, valueBytes);
+        buffer.putLong(slotAt(slot), offset);
+        buffer.putInt(slotAt(slot) + 8, hash);
+        this.compactIfWasteful();
+        return oldValue;
+    }
+
+    @Override
+    public V remove(String key) {
+        int slot = this.locate(spread(key.hashCode()), key.getBytes(StandardCharsets.UTF_8));
+        if (slot < 0)
+            return null;
+        long offset = this.offsetAt(slot);
+        V oldValue = this.valueAt(offset);
+        buffer.putLong(slotAt(slot), REMOVED);
+        buffer.putInt(SIZE_AT, this.size() - 1);
+        this.addGarbage(this.recordLength(offset));
+        this.compactIfWasteful();
+        return oldValue;
+    }
+
+    @Override
+    public Iterator<Entry<String,V>> iterator() {
+        return new MappedHashTableIterator<>(this);
+    }
+
+    /**
+     * Writes the changes to the file and closes it.
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    static int slotAt(int slot) {
+        return HEADER + SLOT * slot;
+    }
+
+    long offsetAt(int slot) {
+        return buffer.getLong(slotAt(slot));
+    }
+
+    private int hashAt(int slot) {
+        return buffer.getInt(slotAt(slot) + 8);
+    }
+
+    /**
+     * Returns the slot of the specified key, or -1 if it is not in the table.
+     * @param hash of the key
+     * @param key bytes of the key
+     * @return slot of the key, or -1
+     */
+    private int locate(int hash, byte[] key) {
+        int mask = capacity - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long offset = this.offsetAt(slot);
+            if (offset == EMPTY)
+                return -1;
+            if (offset != REMOVED && this.hashAt(slot) == hash && this.keyEquals(offset, key))
+                return slot;
+        }
+    }
+
+    /**
+     * Returns the first empty or removed slot from the position of the hash on.
+     * @param hash of the key
+     * @return free slot
+     */
+    private int freeSlot(int hash) {
+        int mask = capacity - 1;
+        int slot = hash & mask;
+        while (this.offsetAt(slot) != EMPTY && this.offsetAt(slot) != REMOVED)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private boolean keyEquals(long offset, byte[] key) {
+        int position = (int) offset;
+        if (buffer.getInt(position) != key.length)
+            return false;
+        for (int i = 0; i < key.length; i++)
+            if (buffer.get(position + 4 + i) != key[i])
+                return false;
+        return true;
+    }
+
+    private int recordLength(long offset) {
+        int keyLength = buffer.getInt((int) offset);
+        return 8 + keyLength + buffer.getInt((int) offset + 4 + keyLength);
+    }
+
+    String keyAt(long offset) {
+        byte[] key = new byte[buffer.getInt((int) offset)];
+        buffer.get((int) offset + 4, key);
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    V valueAt(long offset) {
+        int position = (int) offset + 4 + buffer.getInt((int) offset);
+        byte[] value = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, value);
+        return codec.decode(value);
+    }
+
+    /**
+     * Appends a record to the data area, growing the file if needed.
+     * @param key bytes of the key
+     * @param value bytes of the value
+     * @return offset of the record
+     */
+    private long append(byte[] key, byte[] value) {
+        long end = buffer.getLong(END_AT);
+        long newEnd = end + 8 + key.length + value.length;
+        if (newEnd > buffer.capacity()) {
+            long size = Math.min(Math.max(2L * buffer.capacity(), newEnd), Integer.MAX_VALUE);
+            if (newEnd > size)
+                throw new IllegalStateException("Hash table file full: " + path);
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        int position = (int) end;
+        buffer.putInt(position, key.length);
+        buffer.put(position + 4, key);
+        buffer.putInt(position + 4 + key.length, value.length);
+        buffer.put(position + 8 + key.length, value);
+        buffer.putLong(END_AT, newEnd);
+        return end;
+    }
+
+    private void addGarbage(int bytes) {
+        buffer.putLong(GARBAGE_AT, buffer.getLong(GARBAGE_AT) + bytes);
+    }
+
+    private void compactIfWasteful() {
+        long garbage = buffer.getLong(GARBAGE_AT);
+        long data = buffer.getLong(END_AT) - slotAt(capacity);
+        if (garbage > MIN_DATA && 2 * garbage > data)
+            this.rebuild(capacity);
+    }
+
+    /**
+     * Copies the entries to a new file with the specified number of slots,
+     * without the removed slots and the garbage, and replaces the file with it.
+     * @param newCapacity number of slots of the new file
+     */
+    private void rebuild(int newCapacity) {
+        Path file = Path.of(path);
+        Path temp = Path.of(path + ".tmp");
+        try {
+            try (FileChannel newChannel = FileChannel.open(temp, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long live = buffer.getLong(END_AT) - slotAt(capacity) - buffer.getLong(GARBAGE_AT);
+                MappedByteBuffer newBuffer = format(newChannel, newCapacity, Math.max(2 * live, MIN_DATA));
+                int mask = newCapacity - 1;
+                int end = HEADER + SLOT * newCapacity;
+                for (int slot = 0; slot < capacity; slot++) {
+                    long offset = this.offsetAt(slot);
+                    if (offset == EMPTY || offset == REMOVED)
+                        continue;
+                    int length = this.recordLength(offset);
+                    newBuffer.put(end, buffer, (int) offset, length);
+                    int hash = this.hashAt(slot);
+                    int newSlot = hash & mask;
+                    while (newBuffer.getLong(slotAt(newSlot)) != EMPTY)
+                        newSlot = (newSlot + 1) & mask;
+                    newBuffer.putLong(slotAt(newSlot), end);
+                    newBuffer.putInt(slotAt(newSlot) + 8, hash);
+                    end += length;
+                }
+                newBuffer.putInt(SIZE_AT, this.size());
+                newBuffer.putInt(USED_AT, this.size());
+                newBuffer.putLong(END_AT, end);
+                newBuffer.force();
+            }
+            channel.close();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.map();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Only the path and the codec are serialized: the entries stay in the file.
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        buffer.force();
+        out.defaultWriteObject();
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.open(DEFAULT_CAPACITY);
+    }
+}
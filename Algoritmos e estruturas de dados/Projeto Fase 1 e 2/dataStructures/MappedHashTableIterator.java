@@ -0,0 +1,62 @@
+package dataStructures;
+
+/**
+ * Iterator of the entries of a memory-mapped hash table, in slot order.
+ * Each entry is decoded from the file when it is returned.
+ * @author AED team
+ * @version 1.0
+ * @param <V> Generic type Value
+ */
+class MappedHashTableIterator<V> implements Iterator<Entry<String,V>> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * The table being iterated.
+     */
+    private MappedHashTable<V> table;
+
+    /**
+     * Slot of the next entry to be returned (the number of slots if there is none).
+     */
+    private int nextSlot;
+
+    public MappedHashTableIterator(MappedHashTable<V> table) {
+        this.table = table;
+        rewind();
+    }
+
+    /**
+     * Moves to the first slot, from the specified one on, that holds an entry.
+     * @param slot first slot to be considered
+     */
+    private void advance(int slot) {
+        while (slot < table.capacity) {
+            long offset = table.offsetAt(slot);
+            if (offset != MappedHashTable.EMPTY && offset != MappedHashTable.REMOVED)
+                break;
+            slot++;
+        }
+        nextSlot = slot;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextSlot < table.capacity;
+    }
+
+    @Override
+    public Entry<String,V> next() throws NoSuchElementException {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        long offset = table.offsetAt(nextSlot);
+        Entry<String,V> entry = new EntryClass<>(table.keyAt(offset), table.valueAt(offset));
+        this.advance(nextSlot + 1);
+        return entry;
+    }
+
+    @Override
+    public void rewind() {
+        this.advance(0);
+    }
+}
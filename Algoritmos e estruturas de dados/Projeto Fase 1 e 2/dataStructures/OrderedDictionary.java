@@ -29,6 +29,92 @@ public interface OrderedDictionary<K extends Comparable<K>, V>
      */
     Entry<K,V> maxEntry( ) throws EmptyDictionaryException;
 
+    /**
+     * Returns the entry with the largest key less than or equal to the specified key,
+     * or null if there is no such entry.
+     *
+     * @param key to be searched
+     * @return entry with the greatest key not greater than key, or null
+     */
+    Entry<K,V> floorEntry( K key );
+
+    /**
+     * Returns the entry with the smallest key greater than or equal to the specified key,
+     * or null if there is no such entry.
+     *
+     * @param key to be searched
+     * @return entry with the least key not less than key, or null
+     */
+    Entry<K,V> ceilingEntry( K key );
+
+    /**
+     * Returns the entry with the smallest key strictly greater than the specified key,
+     * or null if there is no such entry.
+     *
+     * @param key to be searched
+     * @return entry with the least key greater than key, or null
+     */
+    Entry<K,V> higherEntry( K key );
+
+    /**
+     * Returns the entry with the largest key strictly less than the specified key,
+     * or null if there is no such entry.
+     *
+     * @param key to be searched
+     * @return entry with the greatest key less than key, or null
+     */
+    Entry<K,V> lowerEntry( K key );
+
+    /**
+     * Returns an iterator of the entries whose keys are between from and to,
+     * both inclusive, in increasing key order.
+     * A null bound leaves that end of the range open.
+     *
+     * @param from smallest key of the range, or null
+     * @param to largest key of the range, or null
+     * @return iterator of the entries in the range
+     */
+    Iterator<Entry<K,V>> iterator( K from, K to );
+
+    /**
+     * Returns an iterator of the entries whose keys are between from and to,
+     * both inclusive, in decreasing key order.
+     * A null bound leaves that end of the range open.
+     *
+     * @param from smallest key of the range, or null
+     * @param to largest key of the range, or null
+     * @return iterator of the entries in the range, from the largest key down
+     */
+    Iterator<Entry<K,V>> descendingIterator( K from, K to );
+
+    /**
+     * Returns the number of entries whose keys are less than the specified key.
+     *
+     * @param key to be ranked
+     * @return number of entries with smaller keys
+     */
+    int rank( K key );
+
+    /**
+     * Returns the entry at the specified position in key order;
+     * the entry with the smallest key is at position 0.
+     *
+     * @param position of the entry
+     * @return entry at that position
+     * @throws InvalidPositionException if position is not between 0 and size()-1
+     */
+    Entry<K,V> select( int position ) throws InvalidPositionException;
+
+    /**
+     * Returns an iterator of the entries in key order,
+     * starting with the entry at the specified position.
+     *
+     * @param fromIndex position of the first entry of the iteration
+     * @return iterator of the entries from that position on
+     * @throws InvalidPositionException if fromIndex is not between 0 and size()
+     */
+    Iterator<Entry<K,V>> iterator( int fromIndex ) throws InvalidPositionException;
+
     /* (non-Javadoc)
      * Returns an iterator of the entries in the dictionary 
      * which preserves the key order relation.
@@ -1,5 +1,6 @@
 package dataStructures;
 
+import java.util.function.BiFunction;
 
 /**
  * Doubly linked list Implementation 
@@ -101,6 +102,140 @@ class OrderedDoubleList<K extends Comparable<K>, V>
         return null;
     }
 
+    @Override
+    public Entry<K,V> floorEntry(K key) {
+        DoubleListNode<Entry<K,V>> node = floorNode(key, true);
+        return node == null ? null : node.getElement();
+    }
+
+    @Override
+    public Entry<K,V> ceilingEntry(K key) {
+        DoubleListNode<Entry<K,V>> node = ceilingNode(key, true);
+        return node == null ? null : node.getElement();
+    }
+
+    @Override
+    public Entry<K,V> higherEntry(K key) {
+        DoubleListNode<Entry<K,V>> node = ceilingNode(key, false);
+        return node == null ? null : node.getElement();
+    }
+
+    @Override
+    public Entry<K,V> lowerEntry(K key) {
+        DoubleListNode<Entry<K,V>> node = floorNode(key, false);
+        return node == null ? null : node.getElement();
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator(K from, K to) {
+        return rangeIterator(from, to, false);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> descendingIterator(K from, K to) {
+        return rangeIterator(from, to, true);
+    }
+
+    @Override
+    public int rank(K key) {
+        int rank = 0;
+        DoubleListNode<Entry<K,V>> currentNode = head;
+        while (currentNode != null && compareKeys(currentNode.getElement().getKey(), key) < 0) {
+            rank++;
+            currentNode = currentNode.getNext();
+        }
+        return rank;
+    }
+
+    @Override
+    public Entry<K,V> select(int position) throws InvalidPositionException {
+        return nodeAt(position).getElement();
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator(int fromIndex) throws InvalidPositionException {
+        if (fromIndex == currentSize && fromIndex >= 0)
+            return new DoubleListRangeIterator<>(null, null, false);
+        return new DoubleListRangeIterator<>(nodeAt(fromIndex), tail, false);
+    }
+
+    /**
+     * Returns the node at the specified position, walking from the nearest end of the list.
+     * @param position - position of the node
+     * @return node at that position
+     * @throws InvalidPositionException if position is not between 0 and size()-1
+     */
+    protected DoubleListNode<Entry<K,V>> nodeAt(int position) throws InvalidPositionException {
+        if (position < 0 || position >= currentSize)
+            throw new InvalidPositionException();
+        DoubleListNode<Entry<K,V>> currentNode;
+        if (position <= currentSize / 2) {
+            currentNode = head;
+            for (int i = 0; i < position; i++)
+                currentNode = currentNode.getNext();
+        } else {
+            currentNode = tail;
+            for (int i = currentSize - 1; i > position; i--)
+                currentNode = currentNode.getPrevious();
+        }
+        return currentNode;
+    }
+
+    /**
+     * Returns the last node whose key is less than key (or equal to it, if inclusive),
+     * or null if there is none.
+     * @param key - Key of type K to be searched
+     * @param inclusive - true if the node with key may be returned
+     * @return see above
+     */
+    protected DoubleListNode<Entry<K,V>> floorNode(K key, boolean inclusive) {
+        DoubleListNode<Entry<K,V>> currentNode = tail;
+        while (currentNode != null) {
+            int compResult = compareKeys(currentNode.getElement().getKey(), key);
+            if (compResult < 0 || (compResult == 0 && inclusive))
+                return currentNode;
+            currentNode = currentNode.getPrevious();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first node whose key is greater than key (or equal to it, if inclusive),
+     * or null if there is none.
+     * @param key - Key of type K to be searched
+     * @param inclusive - true if the node with key may be returned
+     * @return see above
+     */
+    protected DoubleListNode<Entry<K,V>> ceilingNode(K key, boolean inclusive) {
+        DoubleListNode<Entry<K,V>> currentNode = head;
+        while (currentNode != null) {
+            int compResult = compareKeys(currentNode.getElement().getKey(), key);
+            if (compResult > 0 || (compResult == 0 && inclusive))
+                return currentNode;
+            currentNode = currentNode.getNext();
+        }
+        return null;
+    }
+
+    /**
+     * Compares two keys in the order of the list.
+     * @param a - first key
+     * @param b - second key
+     * @return negative, zero or positive as a is less than, equal to or greater than b
+     */
+    protected int compareKeys(K a, K b) {
+        return a.compareTo(b);
+    }
+
+    private Iterator<Entry<K,V>> rangeIterator(K from, K to, boolean descending) {
+        DoubleListNode<Entry<K,V>> first = from == null ? head : ceilingNode(from, true);
+        DoubleListNode<Entry<K,V>> last = to == null ? tail : floorNode(to, true);
+        if (first == null || last == null
+                || compareKeys(first.getElement().getKey(), last.getElement().getKey()) > 0)
+            first = last = null;
+        return new DoubleListRangeIterator<>(first, last, descending);
+    }
+
     @Override
 	public Entry<K, V> minEntry() throws EmptyDictionaryException {
         if (isEmpty()) {
@@ -164,6 +299,46 @@ class OrderedDoubleList<K extends Comparable<K>, V>
         }
 	}
 	
+    /**
+     * Single walk: stops at the first node not less than key, and inserts
+     * before it, replaces it or removes it.
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        DoubleListNode<Entry<K,V>> node = ceilingNode(key, true);
+        boolean present = node != null && compareKeys(node.getElement().getKey(), key) == 0;
+        V oldValue = present ? node.getElement().getValue() : null;
+        V value = remapping.apply(key, oldValue);
+        if (value == null) {
+            if (present)
+                removeNode(node);
+        }
+        else if (present) {
+            if (value != oldValue)
+                node.setElement(new EntryClass<>(key, value));
+        }
+        else if (node == null)
+            addLast(new EntryClass<>(key, value));
+        else if (node == head)
+            addFirst(new EntryClass<>(key, value));
+        else
+            addBeforeNode(new EntryClass<>(key, value), node);
+        return value;
+    }
+
+    /**
+     * Removes the specified node from the list.
+     * @param node - node of the list
+     */
+    protected void removeNode(DoubleListNode<Entry<K,V>> node) {
+        if (node == head)
+            removeFirstNode();
+        else if (node == tail)
+            removeLastNode();
+        else
+            removeMiddleNode(node);
+    }
+
 	@Override
     public boolean isEmpty() {
 	
@@ -0,0 +1,409 @@
+package dataStructures;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Persistent (immutable) AVL tree.
+ * A tree is never changed: insert and remove return a new tree, which copies
+ * only the nodes on the path from the root to the changed node and shares
+ * every other subtree with the old one. So each version costs O(log n) new
+ * nodes, and a version that was obtained may be read, by any number of threads
+ * and without locks, while newer versions are being built.
+ * Each node keeps the size of its subtree, for the order statistics.
+ *
+ * @author AED team
+ * @version 1.0
+ *
+ * @param <K> Generic type Key, must extend comparable
+ * @param <V> Generic type Value
+ */
+public class PersistentAVLTree<K extends Comparable<K>, V> implements Serializable {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Node of the tree; no field changes after construction.
+     */
+    static final class Node<K,V> {
+
+        final Entry<K,V> entry;
+
+        final Node<K,V> left;
+
+        final Node<K,V> right;
+
+        /**
+         * Height of the subtree rooted at the node (a leaf has height 1).
+         */
+        final int height;
+
+        /**
+         * Number of nodes of the subtree rooted at the node.
+         */
+        final int size;
+
+        Node(Entry<K,V> entry, Node<K,V> left, Node<K,V> right) {
+            this.entry = entry;
+            this.left = left;
+            this.right = right;
+            height = 1 + Math.max(height(left), height(right));
+            size = 1 + size(left) + size(right);
+        }
+
+        K key() {
+            return entry.getKey();
+        }
+    }
+
+    /**
+     * The root of the tree (null if the tree is empty).
+     */
+    transient Node<K,V> root;
+
+    /**
+     * Creates an empty tree.
+     */
+    public PersistentAVLTree() {
+        this(null);
+    }
+
+    private PersistentAVLTree(Node<K,V> root) {
+        this.root = root;
+    }
+
+    static int height(Node<?,?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    static int size(Node<?,?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns the value associated with the specified key, or null.
+     * @param key to be searched
+     * @return value of the key, or null if it is not in the tree
+     */
+    public V find(K key) {
+        Node<K,V> node = root;
+        while (node != null) {
+            int compResult = key.compareTo(node.key());
+            if (compResult == 0)
+                return node.entry.getValue();
+            node = compResult < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the tree with the specified entry added, or with the value of the
+     * key replaced if it is already in this tree. This tree does not change.
+     * @param key of the entry
+     * @param value of the entry
+     * @return the new tree
+     */
+    public PersistentAVLTree<K,V> insert(K key, V value) {
+        return new PersistentAVLTree<>(insert(root, key, value));
+    }
+
+    /**
+     * Returns the tree without the entry with the specified key,
+     * or this tree if the key is not in it. This tree does not change.
+     * @param key to be removed
+     * @return the new tree
+     */
+    public PersistentAVLTree<K,V> remove(K key) {
+        Node<K,V> newRoot = remove(root, key);
+        return newRoot == root ? this : new PersistentAVLTree<>(newRoot);
+    }
+
+    public Entry<K,V> minEntry() throws EmptyDictionaryException {
+        if (this.isEmpty())
+            throw new EmptyDictionaryException();
+        return minNode(root).entry;
+    }
+
+    public Entry<K,V> maxEntry() throws EmptyDictionaryException {
+        if (this.isEmpty())
+            throw new EmptyDictionaryException();
+        Node<K,V> node = root;
+        while (node.right != null)
+            node = node.right;
+        return node.entry;
+    }
+
+    public Entry<K,V> floorEntry(K key) {
+        return this.floorEntry(key, true);
+    }
+
+    public Entry<K,V> ceilingEntry(K key) {
+        return this.ceilingEntry(key, true);
+    }
+
+    public Entry<K,V> higherEntry(K key) {
+        return this.ceilingEntry(key, false);
+    }
+
+    public Entry<K,V> lowerEntry(K key) {
+        return this.floorEntry(key, false);
+    }
+
+    /**
+     * Returns the entry with the largest key less than the specified key
+     * (or equal to it, if inclusive); or null if there is none.
+     */
+    private Entry<K,V> floorEntry(K key, boolean inclusive) {
+        Node<K,V> node = root;
+        Entry<K,V> candidate = null;
+        while (node != null) {
+            int compResult = key.compareTo(node.key());
+            if (compResult > 0 || (compResult == 0 && inclusive)) {
+                candidate = node.entry;
+                node = node.right;
+            } else
+                node = node.left;
+        }
+        return candidate;
+    }
+
+    /**
+     * Returns the entry with the smallest key greater than the specified key
+     * (or equal to it, if inclusive); or null if there is none.
+     */
+    private Entry<K,V> ceilingEntry(K key, boolean inclusive) {
+        Node<K,V> node = root;
+        Entry<K,V> candidate = null;
+        while (node != null) {
+            int compResult = key.compareTo(node.key());
+            if (compResult < 0 || (compResult == 0 && inclusive)) {
+                candidate = node.entry;
+                node = node.left;
+            } else
+                node = node.right;
+        }
+        return candidate;
+    }
+
+    /**
+     * Returns the number of entries whose keys are less than the specified key.
+     * @param key to be ranked
+     * @return number of entries with smaller keys
+     */
+    public int rank(K key) {
+        int rank = 0;
+        Node<K,V> node = root;
+        while (node != null) {
+            if (key.compareTo(node.key()) > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else
+                node = node.left;
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the entry at the specified position in key order.
+     * @param position of the entry
+     * @return entry at that position
+     * @throws InvalidPositionException if position is not between 0 and size()-1
+     */
+    public Entry<K,V> select(int position) throws InvalidPositionException {
+        if (position < 0 || position >= this.size())
+            throw new InvalidPositionException();
+        Node<K,V> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (position < leftSize)
+                node = node.left;
+            else if (position == leftSize)
+                return node.entry;
+            else {
+                position -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator of the entries, in increasing key order.
+     * @return iterator of the entries
+     */
+    public Iterator<Entry<K,V>> iterator() {
+        return new PersistentAVLTreeIterator<>(root, null, null, false);
+    }
+
+    /**
+     * Returns an iterator of the entries whose keys are between from and to,
+     * both inclusive (a null bound leaves that end open), in increasing key order.
+     */
+    public Iterator<Entry<K,V>> iterator(K from, K to) {
+        return new PersistentAVLTreeIterator<>(root, from, to, false);
+    }
+
+    /**
+     * Returns an iterator of the entries whose keys are between from and to,
+     * both inclusive (a null bound leaves that end open), in decreasing key order.
+     */
+    public Iterator<Entry<K,V>> descendingIterator(K from, K to) {
+        return new PersistentAVLTreeIterator<>(root, from, to, true);
+    }
+
+    /**
+     * Returns an iterator of the entries in key order, from the specified position on.
+     * @param fromIndex position of the first entry of the iteration
+     * @return iterator of the entries from that position on
+     * @throws InvalidPositionException if fromIndex is not between 0 and size()
+     */
+    public Iterator<Entry<K,V>> iterator(int fromIndex) throws InvalidPositionException {
+        if (fromIndex == this.size() && fromIndex >= 0)
+            return new PersistentAVLTreeIterator<>(null, null, null, false);
+        return new PersistentAVLTreeIterator<>(root, this.select(fromIndex).getKey(), null, false);
+    }
+
+    static <K,V> Node<K,V> minNode(Node<K,V> node) {
+        while (node.left != null)
+            node = node.left;
+        return node;
+    }
+
+    /**
+     * Returns the root of a copy of the subtree with the entry added (or its value replaced).
+     * @param node root of the subtree (may be null)
+     * @param key of the entry
+     * @param value of the entry
+     * @return root of the new subtree
+     */
+    private static <K extends Comparable<K>, V> Node<K,V> insert(Node<K,V> node, K key, V value) {
+        if (node == null)
+            return new Node<>(new EntryClass<>(key, value), null, null);
+        int compResult = key.compareTo(node.key());
+        if (compResult == 0)
+            return new Node<>(new EntryClass<>(key, value), node.left, node.right);
+        if (compResult < 0)
+            return balance(node.entry, insert(node.left, key, value), node.right);
+        return balance(node.entry, node.left, insert(node.right, key, value));
+    }
+
+    /**
+     * Returns the root of a copy of the subtree without the key,
+     * or the same root if the key is not in the subtree.
+     * @param node root of the subtree (may be null)
+     * @param key to be removed
+     * @return root of the new subtree
+     */
+    private static <K extends Comparable<K>, V> Node<K,V> remove(Node<K,V> node, K key) {
+        if (node == null)
+            return null;
+        int compResult = key.compareTo(node.key());
+        if (compResult < 0) {
+            Node<K,V> left = remove(node.left, key);
+            return left == node.left ? node : balance(node.entry, left, node.right);
+        }
+        if (compResult > 0) {
+            Node<K,V> right = remove(node.right, key);
+            return right == node.right ? node : balance(node.entry, node.left, right);
+        }
+        if (node.left == null)
+            return node.right;
+        if (node.right == null)
+            return node.left;
+        // O sucessor toma o lugar do nó removido.
+        return balance(minNode(node.right).entry, node.left, removeMin(node.right));
+    }
+
+    private static <K,V> Node<K,V> removeMin(Node<K,V> node) {
+        if (node.left == null)
+            return node.right;
+        return balance(node.entry, removeMin(node.left), node.right);
+    }
+
+    /**
+     * Returns a new node with the specified entry and subtrees, whose heights
+     * differ by at most 2, applying a single or double rotation if they differ by 2.
+     * @param entry of the node
+     * @param left subtree
+     * @param right subtree
+     * @return root of the balanced subtree
+     */
+    private static <K,V> Node<K,V> balance(Entry<K,V> entry, Node<K,V> left, Node<K,V> right) {
+        int balance = height(left) - height(right);
+        if (balance > 1) {
+            if (height(left.left) >= height(left.right))
+                return new Node<>(left.entry, left.left, new Node<>(entry, left.right, right));
+            Node<K,V> middle = left.right;
+            return new Node<>(middle.entry, new Node<>(left.entry, left.left, middle.left),
+                    new Node<>(entry, middle.right, right));
+        }
+        if (balance < -1) {
+            if (height(right.right) >= height(right.left))
+                return new Node<>(right.entry, new Node<>(entry, left, right.left), right.right);
+            Node<K,V> middle = right.left;
+            return new Node<>(middle.entry, new Node<>(entry, left, middle.left),
+                    new Node<>(right.entry, middle.right, right.right));
+        }
+        return new Node<>(entry, left, right);
+    }
+
+    /**
+     * Builds a height-balanced subtree with the next entries of the iterator.
+     * @param entries iterator of the entries, in key order
+     * @param size number of entries of the subtree
+     * @return root of the subtree
+     */
+    private static <K,V> Node<K,V> build(Iterator<Entry<K,V>> entries, int size) {
+        if (size == 0)
+            return null;
+        int leftSize = (size - 1) / 2;
+        Node<K,V> left = build(entries, leftSize);
+        Entry<K,V> entry = entries.next();
+        return new Node<>(entry, left, build(entries, size - 1 - leftSize));
+    }
+
+    /**
+     * Returns a tree with the specified entries, built in linear time.
+     * Requires: the entries are sorted by key, without repeated keys.
+     * @param entries iterator of the entries, in key order
+     * @param size number of entries to be taken from the iterator
+     * @return the new tree
+     */
+    public static <K extends Comparable<K>, V> PersistentAVLTree<K,V> fromSorted(Iterator<Entry<K,V>> entries, int size) {
+        return new PersistentAVLTree<>(build(entries, size));
+    }
+
+    // Only the entries are stored, in key order; the tree is rebuilt on load.
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(this.size());
+        Iterator<Entry<K,V>> it = this.iterator();
+        while (it.hasNext()) {
+            Entry<K,V> entry = it.next();
+            out.writeObject(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int size = in.readInt();
+        List<Entry<K,V>> entries = new DoubleList<>();
+        for (int i = 0; i < size; i++)
+            entries.addLast(new EntryClass<>((K) in.readObject(), (V) in.readObject()));
+        root = build(entries.iterator(), size);
+    }
+}
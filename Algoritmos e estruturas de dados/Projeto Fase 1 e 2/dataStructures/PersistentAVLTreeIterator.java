@@ -0,0 +1,108 @@
+package dataStructures;
+
+/**
+ * Iterator of the entries of a range of a persistent AVL tree,
+ * in increasing or decreasing key order.
+ * The nodes have no parent links, so the iterator keeps the path of nodes
+ * still to be returned in an array stack, as long as the height of the tree.
+ * The tree never changes, so the iteration is a snapshot of its version.
+ * @author AED team
+ * @version 1.0
+ * @param <K> Generic type Key, must extend comparable
+ * @param <V> Generic type Value
+ */
+class PersistentAVLTreeIterator<K extends Comparable<K>, V> implements Iterator<Entry<K,V>> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Root of the version being iterated (null if it is empty).
+     */
+    private transient PersistentAVLTree.Node<K,V> root;
+
+    /**
+     * Smallest key of the range (null if the range has no lower bound).
+     */
+    private K from;
+
+    /**
+     * Largest key of the range (null if the range has no upper bound).
+     */
+    private K to;
+
+    /**
+     * True if the iteration goes from the largest key down.
+     */
+    private boolean descending;
+
+    /**
+     * Nodes not yet returned whose subtrees on the side of the iteration were
+     * already visited; the next entry is at the top.
+     */
+    private transient PersistentAVLTree.Node<K,V>[] stack;
+
+    /**
+     * Number of nodes in the stack.
+     */
+    private transient int top;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PersistentAVLTreeIterator(PersistentAVLTree.Node<K,V> root, K from, K to, boolean descending) {
+        this.root = root;
+        this.from = from;
+        this.to = to;
+        this.descending = descending;
+        stack = (PersistentAVLTree.Node<K,V>[]) new PersistentAVLTree.Node[PersistentAVLTree.height(root)];
+        rewind();
+    }
+
+    /**
+     * Pushes the path from the specified node to the first node of its subtree
+     * in the order of the iteration, leaving out the nodes outside the range.
+     * @param node root of the subtree (may be null)
+     */
+    private void pushPath(PersistentAVLTree.Node<K,V> node) {
+        while (node != null) {
+            if (descending) {
+                if (to != null && node.key().compareTo(to) > 0)
+                    node = node.left;
+                else {
+                    stack[top++] = node;
+                    node = node.right;
+                }
+            } else {
+                if (from != null && node.key().compareTo(from) < 0)
+                    node = node.right;
+                else {
+                    stack[top++] = node;
+                    node = node.left;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (top == 0)
+            return false;
+        K key = stack[top - 1].key();
+        if (descending)
+            return from == null || key.compareTo(from) >= 0;
+        return to == null || key.compareTo(to) <= 0;
+    }
+
+    @Override
+    public Entry<K,V> next() throws NoSuchElementException {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        PersistentAVLTree.Node<K,V> node = stack[--top];
+        this.pushPath(descending ? node.left : node.right);
+        return node.entry;
+    }
+
+    @Override
+    public void rewind() {
+        top = 0;
+        this.pushPath(root);
+    }
+}
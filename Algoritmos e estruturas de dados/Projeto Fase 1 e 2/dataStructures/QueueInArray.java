@@ -0,0 +1,138 @@
+package dataStructures;
+
+/**
+ * Queue Array Implementation
+ * The elements are kept in a circular array whose length is a power of 2,
+ * so positions wrap around with a mask; the array doubles when it is full.
+ * @author AED  Team
+ * @version 1.0
+ * @param <E> Generic Element
+ *
+ */
+public class QueueInArray<E> implements Queue<E>
+{
+
+	/**
+	 * Serial Version UID of the Class
+	 */
+    static final long serialVersionUID = 0L;
+
+
+    /**
+     *  Default capacity of the queue.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Memory of the queue: a circular array.
+     */
+    protected E[] array;
+
+    /**
+     * Index of the element at the front of the queue.
+     */
+    protected int front;
+
+    /**
+     * Number of elements in the queue.
+     */
+    protected int currentSize;
+
+    /**
+     * Creates a queue on an array with at least <code>capacity</code> positions.
+     * @param capacity - initial capacity of the queue
+     */
+    @SuppressWarnings("unchecked")
+    public QueueInArray( int capacity )
+    {
+        int length = 1;
+        while ( length < capacity )
+            length <<= 1;
+        array = (E[]) new Object[length];
+        front = 0;
+        currentSize = 0;
+    }
+
+
+    /**
+     * Creates a queue on an array with capacity DEFAULT_CAPACITY
+     */
+    public QueueInArray( )
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return currentSize == 0;
+    }
+
+
+    @Override
+    public int size( )
+    {
+        return currentSize;
+    }
+
+
+    @Override
+    public void enqueue( E element )
+    {
+        if ( currentSize == array.length )
+            this.grow();
+        array[(front + currentSize) & (array.length - 1)] = element;
+        currentSize++;
+    }
+
+
+    @Override
+    public E dequeue( ) throws EmptyQueueException
+    {
+        if ( this.isEmpty() )
+            throw new EmptyQueueException();
+
+        E element = array[front];
+        array[front] = null;    // For garbage collection.
+        front = (front + 1) & (array.length - 1);
+        currentSize--;
+        return element;
+    }
+
+
+    @Override
+    public E peek( ) throws EmptyQueueException
+    {
+        if ( this.isEmpty() )
+            throw new EmptyQueueException();
+
+        return array[front];
+    }
+
+
+    @Override
+    public E get( int index ) throws InvalidPositionException
+    {
+        if ( index < 0 || index >= currentSize )
+            throw new InvalidPositionException();
+
+        return array[(front + index) & (array.length - 1)];
+    }
+
+
+    /**
+     * Doubles the array, moving the elements to its start, in queue order.
+     */
+    @SuppressWarnings("unchecked")
+    private void grow( )
+    {
+        E[] newArray = (E[]) new Object[2 * array.length];
+        for ( int i = 0; i < currentSize; i++ )
+            newArray[i] = array[(front + i) & (array.length - 1)];
+        array = newArray;
+        front = 0;
+    }
+
+
+}
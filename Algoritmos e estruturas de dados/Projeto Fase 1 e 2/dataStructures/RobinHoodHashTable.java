@@ -0,0 +1,328 @@
+package dataStructures;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table implementation with Robin Hood probing.
+ * Keys, values and hash codes are kept in parallel arrays whose length
+ * is a power of two, so a lookup scans a short run of contiguous slots
+ * instead of walking a list of nodes.
+ * When DictionaryStats.ENABLED, searches count the slots they examine
+ * and rehashes are timed.
+ * @author AED  Team
+ * @version 1.0
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public class RobinHoodHashTable<K,V> extends HashTable<K,V> implements Instrumented {
+
+    /**
+     * Serial Version UID of the Class.
+     */
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Maximum ratio between the number of entries and the number of slots.
+     */
+    protected static final float MAX_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Keys stored in each slot (null if the slot is empty).
+     */
+    protected transient K[] keys;
+
+    /**
+     * Values stored in each slot.
+     */
+    protected transient V[] values;
+
+    /**
+     * Hash codes of the keys stored in each slot.
+     */
+    protected transient int[] hashes;
+
+    /**
+     * Number of slots minus one (the number of slots is a power of two).
+     */
+    protected transient int mask;
+
+    private transient DictionaryStats stats;
+
+
+    /**
+     * Constructor of an empty Robin Hood hash table,
+     * able to hold the specified number of entries without growing.
+     * @param capacity defines the table capacity.
+     */
+    public RobinHoodHashTable(int capacity) {
+        this.allocate(tableSizeFor(capacity));
+        currentSize = 0;
+    }
+
+    public RobinHoodHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the smallest power of two number of slots able to hold
+     * <code>capacity</code> entries under the maximum load factor.
+     * @param capacity number of entries
+     * @return number of slots
+     */
+    protected static int tableSizeFor(int capacity) {
+        int needed = (int) Math.ceil(Math.max(capacity, 1) / MAX_LOAD_FACTOR);
+        int size = Integer.highestOneBit(needed);
+        if (size < needed)
+            size <<= 1;
+        return Math.max(size, 2);
+    }
+
+    /**
+     * Returns the hash value of the specified key.
+     * @param key to be encoded
+     * @return hash value of the specified key
+     */
+    protected int hash(K key) {
+        return spread(key.hashCode());
+    }
+
+    /**
+     * Returns true iff both keys denote the same entry.
+     * @param stored key stored in the table
+     * @param key key being searched
+     * @return true if the keys are equal
+     */
+    protected boolean sameKey(K stored, K key) {
+        return stored.equals(key);
+    }
+
+    @Override
+    public V find(K key) {
+        int h = this.hash(key);
+        if (DictionaryStats.ENABLED)
+            this.stats().recordFind(this.examined(key, h));
+        int slot = this.findSlot(key, h);
+        if (slot == -1)
+            return null;
+        return values[slot];
+    }
+
+    @Override
+    public V insert(K key, V value) {
+        int h = this.hash(key);
+        int slot = this.findSlot(key, h);
+        if (slot != -1) {
+            V oldValue = values[slot];
+            values[slot] = value;
+            return oldValue;
+        }
+        if (this.isFull())
+            this.rehash(keys.length * 2);
+        this.place(key, value, h);
+        currentSize++;
+        if (DictionaryStats.ENABLED)
+            this.stats().recordInsert();
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        int slot = this.findSlot(key, this.hash(key));
+        if (slot == -1)
+            return null;
+        V oldValue = values[slot];
+        this.removeSlot(slot);
+        currentSize--;
+        if (DictionaryStats.ENABLED)
+            this.stats().recordRemove();
+        return oldValue;
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return new RobinHoodHashTableIterator<>(keys, values);
+    }
+
+    /**
+     * Returns the distance between the specified slot and the home slot
+     * of the key stored there.
+     * Pre-condition: the slot is not empty.
+     * @param slot occupied slot
+     * @return probe distance of the slot
+     */
+    protected int probeDistance(int slot) {
+        return (slot - (hashes[slot] & mask)) & mask;
+    }
+
+    /**
+     * Returns the slot holding the specified key, or -1 if there is none.
+     * The search stops as soon as it reaches an empty slot or a key that
+     * is closer to its home slot than the searched key would be.
+     * @param key to be searched
+     * @param h hash value of the key
+     * @return slot of the key, or -1
+     */
+    protected int findSlot(K key, int h) {
+        int slot = h & mask;
+        for (int distance = 0; keys[slot] != null; distance++) {
+            if (this.probeDistance(slot) < distance)
+                return -1;
+            if (hashes[slot] == h && this.sameKey(keys[slot], key))
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of slots findSlot examines for the specified key.
+     * @param key to be searched
+     * @param h hash value of the key
+     * @return number of slots examined
+     */
+    private int examined(K key, int h) {
+        int slot = h & mask;
+        for (int distance = 0; ; distance++) {
+            if (keys[slot] == null || this.probeDistance(slot) < distance
+                    || (hashes[slot] == h && this.sameKey(keys[slot], key)))
+                return distance + 1;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Stores a new entry, displacing entries that are closer to their
+     * home slot than the one being placed.
+     * Pre-condition: the key is not in the table and the table is not full.
+     * @param key key of the entry
+     * @param value value of the entry
+     * @param h hash value of the key
+     */
+    protected void place(K key, V value, int h) {
+        int slot = h & mask;
+        int distance = 0;
+        while (keys[slot] != null) {
+            int existing = this.probeDistance(slot);
+            if (existing < distance) {
+                K k = keys[slot];
+                V v = values[slot];
+                int eh = hashes[slot];
+                keys[slot] = key;
+                values[slot] = value;
+                hashes[slot] = h;
+                key = k;
+                value = v;
+                h = eh;
+                distance = existing;
+            }
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        hashes[slot] = h;
+    }
+
+    /**
+     * Empties the specified slot and shifts back the entries that follow it,
+     * so that no tombstones are needed.
+     * @param slot occupied slot
+     */
+    protected void removeSlot(int slot) {
+        int next = (slot + 1) & mask;
+        while (keys[next] != null && this.probeDistance(next) > 0) {
+            keys[slot] = keys[next];
+            values[slot] = values[next];
+            hashes[slot] = hashes[next];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+        keys[slot] = null;
+        values[slot] = null;
+        hashes[slot] = 0;
+    }
+
+    /**
+     * Allocates empty arrays with the specified number of slots.
+     * @param arraySize number of slots (a power of two)
+     */
+    @SuppressWarnings("unchecked")
+    protected void allocate(int arraySize) {
+        keys = (K[]) new Object[arraySize];
+        values = (V[]) new Object[arraySize];
+        hashes = new int[arraySize];
+        mask = arraySize - 1;
+        maxSize = (int) (arraySize * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Moves every entry to new arrays with the specified number of slots.
+     * @param arraySize new number of slots (a power of two)
+     */
+    protected void rehash(int arraySize) {
+        long start = DictionaryStats.ENABLED ? System.nanoTime() : 0;
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int[] oldHashes = hashes;
+        this.allocate(arraySize);
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != null)
+                this.place(oldKeys[i], oldValues[i], oldHashes[i]);
+        if (DictionaryStats.ENABLED)
+            this.stats().recordRehash(System.nanoTime() - start, true);
+    }
+
+    @Override
+    public DictionaryStats stats() {
+        if (stats == null)
+            stats = new DictionaryStats(this);
+        return stats;
+    }
+
+    @Override
+    public int[] bucketHistogram() {
+        int[] histogram = new int[1];
+        for (int slot = 0; slot < keys.length; slot++)
+            if (keys[slot] != null) {
+                int distance = this.probeDistance(slot);
+                if (distance >= histogram.length)
+                    histogram = Arrays.copyOf(histogram, distance + 1);
+                histogram[distance]++;
+            }
+        return histogram;
+    }
+
+    // Três arrays paralelos, sem objetos por entrada.
+    @Override
+    public long retainedBytes() {
+        return DictionaryStats.objectBytes(8) + 3 * DictionaryStats.arrayBytes(keys.length);
+    }
+
+    // Only the entries are stored: the slots are rebuilt on load,
+    // so the stored table does not depend on the hash function.
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(keys.length);
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != null) {
+                out.writeObject(keys[i]);
+                out.writeObject(values[i]);
+            }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.allocate(in.readInt());
+        for (int i = 0; i < currentSize; i++) {
+            K key = (K) in.readObject();
+            this.place(key, (V) in.readObject(), this.hash(key));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package dataStructures;
+
+/**
+ * Iterator of the entries of a Robin Hood hash table.
+ * Walks the slot arrays in order, skipping the empty slots.
+ * @author AED  Team
+ * @version 1.0
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+class RobinHoodHashTableIterator<K,V> implements Iterator<Entry<K,V>> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * Keys of the table (null in the empty slots).
+     */
+    private K[] keys;
+
+    /**
+     * Values of the table.
+     */
+    private V[] values;
+
+    /**
+     * Slot with the next entry to be returned.
+     */
+    private int currentIndex;
+
+    public RobinHoodHashTableIterator(K[] keys, V[] values) {
+        this.keys = keys;
+        this.values = values;
+        rewind();
+    }
+
+    /**
+     * Advances currentIndex to the first occupied slot not before it.
+     */
+    private void nextOccupiedSlot() {
+        while (currentIndex < keys.length && keys[currentIndex] == null)
+            currentIndex++;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return currentIndex < keys.length;
+    }
+
+    @Override
+    public Entry<K,V> next() throws NoSuchElementException {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Entry<K,V> entry = new EntryClass<>(keys[currentIndex], values[currentIndex]);
+        currentIndex++;
+        nextOccupiedSlot();
+        return entry;
+    }
+
+    @Override
+    public void rewind() {
+        currentIndex = 0;
+        nextOccupiedSlot();
+    }
+}
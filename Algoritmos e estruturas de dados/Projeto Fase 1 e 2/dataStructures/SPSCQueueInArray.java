@@ -0,0 +1,186 @@
+package dataStructures;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for a single producer thread and a single consumer thread.
+ * The elements are kept in a circular array whose length is a power of 2.
+ * The head (next position to be read) and the tail (next position to be
+ * written) only grow, and each is written by one thread only: the producer
+ * stores the element and then publishes the new tail, the consumer takes the
+ * element and then publishes the new head, so no compare-and-set is needed.
+ * The two indices are kept in cache lines of their own, each together with
+ * the copy of the other index last seen by the thread that writes it, so the
+ * threads only read each other's line when the queue looks full or empty.
+ * Null elements are not allowed.
+ * @author AED  Team
+ * @version 1.0
+ * @param <E> Generic Element
+ *
+ */
+public class SPSCQueueInArray<E> implements Queue<E>
+{
+
+	/**
+	 * Serial Version UID of the Class
+	 */
+    static final long serialVersionUID = 0L;
+
+
+    /**
+     *  Default capacity of the queue.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Longs between the indices: 128 bytes, two cache lines.
+     */
+    private static final int PAD = 16;
+
+    /**
+     * Positions in the array of indices: the head and the consumer's copy of the
+     * tail, then the tail and the producer's copy of the head.
+     */
+    private static final int HEAD = PAD, CACHED_TAIL = PAD + 1, TAIL = 2 * PAD, CACHED_HEAD = 2 * PAD + 1;
+
+    /**
+     * Memory of the queue: a circular array.
+     */
+    private final E[] array;
+
+    private final int mask;
+
+    private final AtomicLongArray indices;
+
+    /**
+     * Creates a queue on an array with at least <code>capacity</code> positions.
+     * @param capacity - maximum capacity of the queue
+     */
+    @SuppressWarnings("unchecked")
+    public SPSCQueueInArray( int capacity )
+    {
+        int length = 1;
+        while ( length < capacity )
+            length <<= 1;
+        array = (E[]) new Object[length];
+        mask = length - 1;
+        indices = new AtomicLongArray(3 * PAD);
+    }
+
+
+    /**
+     * Creates a queue on an array with capacity DEFAULT_CAPACITY
+     */
+    public SPSCQueueInArray( )
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return this.size() == 0;
+    }
+
+
+    @Override
+    public int size( )
+    {
+        // A cabeça é lida primeiro, para que a cauda lida depois nunca seja menor.
+        long head = indices.get(HEAD);
+        return (int) (indices.get(TAIL) - head);
+    }
+
+
+    /**
+     * Inserts the specified element at the rear of the queue, if it is not full.
+     * Only the producer thread may call it.
+     * @param element - element to be added, not null
+     * @return true if the element was added, false if the queue is full
+     */
+    public boolean offer( E element )
+    {
+        long tail = indices.getPlain(TAIL);
+        if ( tail - indices.getPlain(CACHED_HEAD) == array.length ) {
+            indices.setPlain(CACHED_HEAD, indices.get(HEAD));
+            if ( tail - indices.getPlain(CACHED_HEAD) == array.length )
+                return false;
+        }
+        array[(int) tail & mask] = element;
+        indices.lazySet(TAIL, tail + 1);
+        return true;
+    }
+
+
+    /**
+     * Removes and returns the element at the front of the queue, if there is one.
+     * Only the consumer thread may call it.
+     * @return element removed from the front of the queue, or null if the queue is empty
+     */
+    public E poll( )
+    {
+        long head = indices.getPlain(HEAD);
+        if ( head == indices.getPlain(CACHED_TAIL) ) {
+            indices.setPlain(CACHED_TAIL, indices.get(TAIL));
+            if ( head == indices.getPlain(CACHED_TAIL) )
+                return null;
+        }
+        int index = (int) head & mask;
+        E element = array[index];
+        array[index] = null;    // For garbage collection.
+        indices.lazySet(HEAD, head + 1);
+        return element;
+    }
+
+
+    /**
+     * Only the producer thread may call it.
+     * @throws FullQueueException if the queue is full
+     */
+    @Override
+    public void enqueue( E element ) throws FullQueueException
+    {
+        if ( !this.offer(element) )
+            throw new FullQueueException();
+    }
+
+
+    /**
+     * Only the consumer thread may call it.
+     */
+    @Override
+    public E dequeue( ) throws EmptyQueueException
+    {
+        E element = this.poll();
+        if ( element == null )
+            throw new EmptyQueueException();
+        return element;
+    }
+
+
+    /**
+     * Only the consumer thread may call it.
+     */
+    @Override
+    public E peek( ) throws EmptyQueueException
+    {
+        return this.get(0);
+    }
+
+
+    /**
+     * Only the consumer thread may call it.
+     */
+    @Override
+    public E get( int index ) throws EmptyQueueException
+    {
+        long head = indices.getPlain(HEAD);
+        if ( index < 0 || head + index >= indices.get(TAIL) )
+            throw index == 0 ? new EmptyQueueException() : new InvalidPositionException();
+
+        return array[(int) (head + index) & mask];
+    }
+
+
+}
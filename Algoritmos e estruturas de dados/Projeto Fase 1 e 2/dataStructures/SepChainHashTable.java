@@ -1,9 +1,21 @@
 package dataStructures;
 
-
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
 
 /**
  * Separate Chaining Hash table implementation
+ * The table grows and shrinks incrementally: while a rehash is in progress
+ * both the old and the new array are kept, and every insert, find and remove
+ * moves a few buckets from the old array to the new one. Buckets are only
+ * created when a key is inserted in them.
+ * When DictionaryStats.ENABLED, searches count the entries of the bucket
+ * they examine and rehashes are timed.
  * @author AED  Team
  * @version 1.0
  * @param <K> Generic Key, must extend comparable
@@ -11,33 +23,57 @@ package dataStructures;
  */
 
 public class SepChainHashTable<K extends Comparable<K>, V> 
-    extends HashTable<K,V> {
+    extends HashTable<K,V> implements Instrumented {
     /**
      * Serial Version UID of the Class.
      */
     static final long serialVersionUID = 0L;
 
+    /**
+     * Least number of buckets moved to the new array by each operation during a rehash.
+     */
+    protected static final int REHASH_STEP = 4;
+
     /**
      * The array of dictionaries.
      */
     protected Dictionary<K, V>[] table;
 
+    /**
+     * The array being emptied by a rehash in progress (null if there is none).
+     */
+    protected transient Dictionary<K, V>[] oldTable;
+
+    /**
+     * Buckets of oldTable below this index have already been moved to table.
+     */
+    protected transient int rehashIndex;
+
+    /**
+     * Number of buckets moved by each operation during the rehash in progress.
+     */
+    protected transient int bucketsPerStep;
+
+    /**
+     * Capacity the table never shrinks below.
+     */
+    protected int minCapacity;
+
+    private transient DictionaryStats stats;
+
 
     /**
      * Constructor of an empty separate chaining hash table,
      * with the specified initial capacity.
-     * Each position of the array is initialized to a new ordered list
+     * The buckets are created as keys are inserted;
      * maxSize is initialized to the capacity.
      *
      * @param capacity defines the table capacity.
      */
-    @SuppressWarnings("unchecked")
     public SepChainHashTable(int capacity) {
-        int arraySize = HashTable.nextPrime((int) (1.1 * capacity));
-        table = (Dictionary<K, V>[]) new Dictionary[arraySize];
-        for (int i = 0; i < arraySize; i++)
-            table[i] = new OrderedDoubleList<K, V>();
+        table = this.newTable(capacity);
         maxSize = capacity;
+        minCapacity = capacity;
         currentSize = 0;
     }
 
@@ -46,6 +82,41 @@ public class SepChainHashTable<K extends Comparable<K>, V>
         this(DEFAULT_CAPACITY);
     }
 
+    /**
+     * Returns a new empty bucket.
+     *
+     * @return empty dictionary to be used as a bucket
+     */
+    protected Dictionary<K, V> newBucket() {
+        return new OrderedDoubleList<K, V>();
+    }
+
+    /**
+     * Returns a new array with no buckets, sized for the specified capacity.
+     *
+     * @param capacity number of entries the array is meant to hold
+     * @return array of null buckets
+     */
+    protected Dictionary<K, V>[] newTable(int capacity) {
+        int arraySize = HashTable.nextPrime((int) (1.1 * capacity));
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Dictionary<K, V>[] newTable = (Dictionary<K, V>[]) new Dictionary[arraySize];
+        return newTable;
+    }
+
+    /**
+     * Returns the bucket of the table at the specified index, creating it if there is none.
+     *
+     * @param index position in the table
+     * @return bucket at that position
+     */
+    protected Dictionary<K, V> tableBucket(int index) {
+        Dictionary<K, V> bucket = table[index];
+        if (bucket == null)
+            bucket = table[index] = this.newBucket();
+        return bucket;
+    }
+
     /**
      * Returns the hash value of the specified key.
      *
@@ -53,55 +124,263 @@ public class SepChainHashTable<K extends Comparable<K>, V>
      * @return hash value of the specified key
      */
     protected int hash(K key) {
-        return Math.abs(key.hashCode()) % table.length;
+        return this.hash(key, table.length);
+    }
+
+    /**
+     * Returns the hash value of the specified key in an array with the specified length.
+     *
+     * @param key to be encoded
+     * @param length length of the array
+     * @return hash value of the specified key
+     */
+    protected int hash(K key, int length) {
+        return Math.abs(key.hashCode()) % length;
+    }
+
+    /**
+     * Returns the bucket where the specified key is stored, if there is one.
+     * While a rehash is in progress, keys whose old bucket was not moved yet
+     * are still in oldTable; keys whose old bucket did not exist go to table.
+     *
+     * @param key to be located
+     * @return bucket of the key, or null if there is none
+     */
+    protected Dictionary<K, V> bucketOf(K key) {
+        if (oldTable != null) {
+            int oldIndex = this.hash(key, oldTable.length);
+            if (oldIndex >= rehashIndex && oldTable[oldIndex] != null)
+                return oldTable[oldIndex];
+        }
+        return table[this.hash(key)];
+    }
+
+    /**
+     * Returns the bucket where the specified key is (or would be) stored,
+     * creating it if there is none.
+     *
+     * @param key to be located
+     * @return bucket of the key
+     */
+    protected Dictionary<K, V> bucketFor(K key) {
+        Dictionary<K, V> bucket = this.bucketOf(key);
+        return bucket != null ? bucket : this.tableBucket(this.hash(key));
     }
 
     @Override
     public V find(K key) {
-        return table[this.hash(key)].find(key);
+        this.rehashStep();
+        Dictionary<K, V> bucket = this.bucketOf(key);
+        if (DictionaryStats.ENABLED)
+            this.stats().recordFind(bucket == null ? 0 : examined(bucket, key));
+        return bucket == null ? null : bucket.find(key);
+    }
+
+    /**
+     * Returns the number of entries a search for the specified key examines
+     * in the specified bucket: an ordered bucket is only walked up to the key.
+     */
+    private static <K extends Comparable<K>, V> int examined(Dictionary<K, V> bucket, K key) {
+        if (bucket instanceof OrderedDictionary)
+            return Math.min(((OrderedDictionary<K, V>) bucket).rank(key) + 1, bucket.size());
+        return bucket.size();
     }
 
     @Override
     public V insert(K key, V value) {
+        this.rehashStep();
         if (this.isFull())
-            this.rehash();
-        V oldValue = table[this.hash(key)].insert(key, value);
-        if (oldValue == null)
+            this.startRehash(2 * maxSize);
+        V oldValue = this.bucketFor(key).insert(key, value);
+        if (oldValue == null) {
             currentSize++;
+            if (DictionaryStats.ENABLED)
+                this.stats().recordInsert();
+        }
         return oldValue;
     }
 
     @Override
     public V remove(K key) {
-        V value = table[this.hash(key)].remove(key);
-        if (value != null)
+        this.rehashStep();
+        Dictionary<K, V> bucket = this.bucketOf(key);
+        V value = bucket == null ? null : bucket.remove(key);
+        if (value != null) {
             currentSize--;
+            if (DictionaryStats.ENABLED)
+                this.stats().recordRemove();
+            if (this.isSparse())
+                this.startRehash(maxSize / 2);
+        }
+        return value;
+    }
+
+    /**
+     * Delegates to the bucket of the key, so the key is hashed once
+     * and its chain walked once.
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        this.rehashStep();
+        if (this.isFull())
+            this.startRehash(2 * maxSize);
+        Dictionary<K, V> bucket = this.bucketFor(key);
+        int oldSize = bucket.size();
+        V value = bucket.compute(key, remapping);
+        if (bucket.size() > oldSize) {
+            currentSize++;
+            if (DictionaryStats.ENABLED)
+                this.stats().recordInsert();
+        }
+        else if (bucket.size() < oldSize) {
+            currentSize--;
+            if (DictionaryStats.ENABLED)
+                this.stats().recordRemove();
+            if (this.isSparse())
+                this.startRehash(maxSize / 2);
+        }
         return value;
     }
 
     @Override
     public Iterator<Entry<K, V>> iterator() {
+        this.finishRehash();
         return new SepChainHashTableIterator<>(table);
     }
 
-    @SuppressWarnings("unchecked")
-    private void rehash() {
-        //igual ao construtor mas o arraySize aumenta para 2 vezes mais
-        int arraySize = HashTable.nextPrime((int) (1.1 * currentSize * 2));
-        Dictionary<K, V>[] newTable = (Dictionary<K, V>[]) new Dictionary[arraySize];
-        for (int i = 0; i < arraySize; i++)
-            newTable[i] = new OrderedDoubleList<K, V>();
-        // Iterar a table existente e meter as entrys na nova table nos seus respetivos/novos index
-        for (int i = 0; i < table.length; i++) {
-            Iterator<Entry<K, V>> it = table[i].iterator();
-            while (it.hasNext()) {
-                Entry<K, V> entry = it.next();
-                int index = Math.abs(entry.getKey().hashCode()) % newTable.length;
-                newTable[index].insert(entry.getKey(), entry.getValue());
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+        this.finishRehash();
+        return new SepChainHashTableSpliterator<>(table, 0, table.length, currentSize);
+    }
+
+    /**
+     * Returns true iff the table holds at most a quarter of its capacity
+     * and may be halved without going below minCapacity.
+     *
+     * @return true if the table should shrink
+     */
+    protected boolean isSparse() {
+        return oldTable == null && currentSize <= maxSize / 4
+                && maxSize / 2 >= Math.max(minCapacity, 1);
+    }
+
+    /**
+     * Starts moving the entries to a new array sized for the specified capacity.
+     * Each operation then moves enough buckets for the rehash to complete
+     * before the table can fill up again, so a rehash never starts while
+     * another one is in progress (a shrink waits for the rehash to complete).
+     *
+     * @param capacity new capacity of the table
+     */
+    protected void startRehash(int capacity) {
+        long start = DictionaryStats.ENABLED ? System.nanoTime() : 0;
+        oldTable = table;
+        rehashIndex = 0;
+        table = this.newTable(capacity);
+        maxSize = capacity;
+        // Só as operações que aumentam o tamanho aproximam o próximo aumento,
+        // e cada uma move bucketsPerStep baldes.
+        int headroom = Math.max(capacity - currentSize, 1);
+        bucketsPerStep = Math.max(REHASH_STEP, (oldTable.length + headroom - 1) / headroom);
+        if (DictionaryStats.ENABLED)
+            this.stats().recordRehash(System.nanoTime() - start, true);
+    }
+
+    /**
+     * Moves at most bucketsPerStep buckets of the rehash in progress, if any.
+     * When the rehash completes on a table that is still sparse,
+     * the next shrink is started.
+     */
+    protected void rehashStep() {
+        if (oldTable == null)
+            return;
+        long start = DictionaryStats.ENABLED ? System.nanoTime() : 0;
+        for (int moved = 0; moved < bucketsPerStep && rehashIndex < oldTable.length; moved++) {
+            Dictionary<K, V> bucket = oldTable[rehashIndex];
+            if (bucket != null) {
+                Iterator<Entry<K, V>> it = bucket.iterator();
+                while (it.hasNext()) {
+                    Entry<K, V> entry = it.next();
+                    this.tableBucket(this.hash(entry.getKey())).insert(entry.getKey(), entry.getValue());
+                }
+            }
+            oldTable[rehashIndex++] = null;
+        }
+        if (DictionaryStats.ENABLED)
+            this.stats().recordRehash(System.nanoTime() - start, false);
+        if (rehashIndex == oldTable.length) {
+            oldTable = null;
+            if (this.isSparse())
+                this.startRehash(maxSize / 2);
+        }
+    }
+
+    /**
+     * Completes the rehash in progress, if any.
+     */
+    protected void finishRehash() {
+        while (oldTable != null)
+            this.rehashStep();
+    }
+
+    @Override
+    public DictionaryStats stats() {
+        if (stats == null)
+            stats = new DictionaryStats(this);
+        return stats;
+    }
+
+    @Override
+    public int[] bucketHistogram() {
+        int[] histogram = new int[1];
+        for (Dictionary<K, V>[] buckets : this.arrays())
+            for (Dictionary<K, V> bucket : buckets) {
+                if (bucket == null)
+                    continue;
+                if (bucket.size() >= histogram.length)
+                    histogram = Arrays.copyOf(histogram, bucket.size() + 1);
+                histogram[bucket.size()]++;
             }
+        return histogram;
+    }
+
+    // Cada entrada custa um nó da lista (3 campos) e uma EntryClass (2 campos);
+    // cada balde, uma lista (3 campos).
+    @Override
+    public long retainedBytes() {
+        long bytes = DictionaryStats.objectBytes(6);
+        for (Dictionary<K, V>[] buckets : this.arrays()) {
+            bytes += DictionaryStats.arrayBytes(buckets.length);
+            for (Dictionary<K, V> bucket : buckets)
+                if (bucket != null)
+                    bytes += DictionaryStats.objectBytes(3);
         }
-        maxSize *= 2;
-        table = newTable;
+        return bytes + (long) currentSize * (DictionaryStats.objectBytes(3) + DictionaryStats.objectBytes(2));
+    }
+
+    /**
+     * Returns the arrays of buckets holding entries: the table,
+     * and the old one while a rehash is in progress.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Dictionary<K, V>[][] arrays() {
+        if (oldTable == null)
+            return (Dictionary<K, V>[][]) new Dictionary[][] { table };
+        return (Dictionary<K, V>[][]) new Dictionary[][] { table, oldTable };
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        this.finishRehash();
+        out.defaultWriteObject();
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (minCapacity == 0)
+            minCapacity = DEFAULT_CAPACITY;
     }
 
 
@@ -0,0 +1,90 @@
+package dataStructures;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator of the entries of a separate chaining hash table.
+ * It covers a range of buckets and splits in half along them; the number
+ * of entries of each half is counted from the sizes of its buckets,
+ * so every estimate is exact.
+ * @author AED team
+ * @version 1.0
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+class SepChainHashTableSpliterator<K,V> implements Spliterator<Entry<K,V>> {
+
+    private final Dictionary<K,V>[] table;
+
+    /**
+     * Next bucket to be opened, and the end (exclusive) of the range.
+     */
+    private int nextBucket, end;
+
+    /**
+     * Entries not yet returned.
+     */
+    private long remaining;
+
+    /**
+     * Iterator of the bucket being traversed (null before the first one).
+     */
+    private Iterator<Entry<K,V>> current;
+
+    SepChainHashTableSpliterator(Dictionary<K,V>[] table, int from, int to, long size) {
+        this.table = table;
+        this.nextBucket = from;
+        this.end = to;
+        this.remaining = size;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Entry<K,V>> action) {
+        while (current == null || !current.hasNext()) {
+            if (nextBucket >= end)
+                return false;
+            Dictionary<K,V> bucket = table[nextBucket++];
+            if (bucket != null)
+                current = bucket.iterator();
+        }
+        remaining--;
+        action.accept(current.next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Entry<K,V>> action) {
+        while (this.tryAdvance(action))
+            ;
+    }
+
+    @Override
+    public Spliterator<Entry<K,V>> trySplit() {
+        int middle = (nextBucket + end) >>> 1;
+        if (middle <= nextBucket)
+            return null;
+        long suffix = 0;
+        for (int i = middle; i < end; i++)
+            if (table[i] != null)
+                suffix += table[i].size();
+        SepChainHashTableSpliterator<K,V> half =
+                new SepChainHashTableSpliterator<>(table, nextBucket, middle, remaining - suffix);
+        // O resto do balde já aberto fica na primeira metade.
+        half.current = current;
+        current = null;
+        nextBucket = middle;
+        remaining = suffix;
+        return half;
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return SIZED | SUBSIZED | DISTINCT | NONNULL;
+    }
+}
@@ -0,0 +1,44 @@
+package dataStructures;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Codec that represents each value by its Java serialization.
+ * Every value is serialized on its own, so objects shared by two values
+ * are decoded as two copies.
+ * @author AED team
+ * @version 1.0
+ * @param <V> Generic type Value
+ */
+public class SerializationCodec<V> implements ValueCodec<V> {
+
+    static final long serialVersionUID = 0L;
+
+    @Override
+    public byte[] encode(V value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V decode(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (V) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
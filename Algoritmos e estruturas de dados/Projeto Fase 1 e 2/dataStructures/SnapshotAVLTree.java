@@ -0,0 +1,158 @@
+package dataStructures;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ordered dictionary kept in a persistent AVL tree, whose current version
+ * is swapped atomically by each update.
+ * A reader works on the version that was current when it started: every
+ * query, and every iteration up to its end, sees one consistent version,
+ * without locks and without copying, however many updates are committed
+ * meanwhile. An update builds the new version from the current one and
+ * commits it with a compare-and-set, retrying if another update came first.
+ *
+ * @author AED team
+ * @version 1.0
+ *
+ * @param <K> Generic type Key, must extend comparable
+ * @param <V> Generic type Value
+ */
+public class SnapshotAVLTree<K extends Comparable<K>, V> implements OrderedDictionary<K,V> {
+
+    static final long serialVersionUID = 0L;
+
+    /**
+     * The current version of the tree.
+     */
+    private final AtomicReference<PersistentAVLTree<K,V>> current;
+
+    public SnapshotAVLTree() {
+        current = new AtomicReference<>(new PersistentAVLTree<>());
+    }
+
+    /**
+     * Returns the current version of the tree, which never changes.
+     * @return the current version
+     */
+    public PersistentAVLTree<K,V> snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Makes the specified version current, if the current one is still the expected one.
+     * Lets a writer apply several updates to a snapshot and commit them all at once.
+     * @param expected version the updates were applied to
+     * @param version new version
+     * @return true if the new version was committed
+     */
+    public boolean commit(PersistentAVLTree<K,V> expected, PersistentAVLTree<K,V> version) {
+        return current.compareAndSet(expected, version);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.snapshot().isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return this.snapshot().size();
+    }
+
+    @Override
+    public V find(K key) {
+        return this.snapshot().find(key);
+    }
+
+    @Override
+    public V insert(K key, V value) {
+        while (true) {
+            PersistentAVLTree<K,V> version = this.snapshot();
+            V oldValue = version.find(key);
+            if (this.commit(version, version.insert(key, value)))
+                return oldValue;
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        while (true) {
+            PersistentAVLTree<K,V> version = this.snapshot();
+            V oldValue = version.find(key);
+            if (oldValue == null || this.commit(version, version.remove(key)))
+                return oldValue;
+        }
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        while (true) {
+            PersistentAVLTree<K,V> version = this.snapshot();
+            V oldValue = version.find(key);
+            if (oldValue == null || !oldValue.equals(value))
+                return null;
+            if (this.commit(version, version.remove(key)))
+                return oldValue;
+        }
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return this.snapshot().iterator();
+    }
+
+    @Override
+    public Entry<K,V> minEntry() throws EmptyDictionaryException {
+        return this.snapshot().minEntry();
+    }
+
+    @Override
+    public Entry<K,V> maxEntry() throws EmptyDictionaryException {
+        return this.snapshot().maxEntry();
+    }
+
+    @Override
+    public Entry<K,V> floorEntry(K key) {
+        return this.snapshot().floorEntry(key);
+    }
+
+    @Override
+    public Entry<K,V> ceilingEntry(K key) {
+        return this.snapshot().ceilingEntry(key);
+    }
+
+    @Override
+    public Entry<K,V> higherEntry(K key) {
+        return this.snapshot().higherEntry(key);
+    }
+
+    @Override
+    public Entry<K,V> lowerEntry(K key) {
+        return this.snapshot().lowerEntry(key);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator(K from, K to) {
+        return this.snapshot().iterator(from, to);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> descendingIterator(K from, K to) {
+        return this.snapshot().descendingIterator(from, to);
+    }
+
+    @Override
+    public int rank(K key) {
+        return this.snapshot().rank(key);
+    }
+
+    @Override
+    public Entry<K,V> select(int position) throws InvalidPositionException {
+        return this.snapshot().select(position);
+    }
+
+    @Override
+    public Iterator<Entry<K,V>> iterator(int fromIndex) throws InvalidPositionException {
+        return this.snapshot().iterator(fromIndex);
+    }
+}
@@ -0,0 +1,27 @@
+package dataStructures;
+
+import java.io.Serializable;
+
+/**
+ * Conversion of values to and from bytes, for the dictionaries that keep
+ * their entries outside the Java heap.
+ * @author AED team
+ * @version 1.0
+ * @param <V> Generic type Value
+ */
+public interface ValueCodec<V> extends Serializable {
+
+    /**
+     * Returns the bytes that represent the specified value.
+     * @param value to be encoded
+     * @return bytes of the value
+     */
+    byte[] encode(V value);
+
+    /**
+     * Returns the value represented by the specified bytes.
+     * @param bytes as returned by encode
+     * @return the value
+     */
+    V decode(byte[] bytes);
+}